@@ -20,5 +20,66 @@ public enum Direction {
 
     RIGHT_UP,
     RIGHT,
-    RIGHT_DOWN
-}
\ No newline at end of file
+    RIGHT_DOWN;
+
+    /**
+     * Get the direction that points the other way.
+     * @return The opposite direction.
+     */
+    public Direction opposite() {
+        return switch (this) {
+            case UP -> DOWN;
+            case DOWN -> UP;
+            case LEFT_UP -> RIGHT_DOWN;
+            case LEFT -> RIGHT;
+            case LEFT_DOWN -> RIGHT_UP;
+            case RIGHT_UP -> LEFT_DOWN;
+            case RIGHT -> LEFT;
+            case RIGHT_DOWN -> LEFT_UP;
+        };
+    }
+
+    /**
+     * Get the direction of a step.
+     * @param stepX -1, 0 or 1.
+     * @param stepY -1, 0 or 1 (down is positive).
+     * @return The direction, null if both steps are 0.
+     */
+    public static Direction of(int stepX, int stepY) {
+        if (stepX < 0) return stepY < 0 ? LEFT_UP : stepY > 0 ? LEFT_DOWN : LEFT;
+        if (stepX > 0) return stepY < 0 ? RIGHT_UP : stepY > 0 ? RIGHT_DOWN : RIGHT;
+        return stepY < 0 ? UP : stepY > 0 ? DOWN : null;
+    }
+
+    /**
+     * Determine whether the direction is diagonal.
+     * @return True for the four diagonal directions.
+     */
+    public boolean isDiagonal() {
+        return this == LEFT_UP || this == LEFT_DOWN || this == RIGHT_UP || this == RIGHT_DOWN;
+    }
+
+    /**
+     * Get the horizontal part of a step in this direction.
+     * @return -1 for left, 1 for right, 0 otherwise.
+     */
+    public int getStepX() {
+        return switch (this) {
+            case LEFT_UP, LEFT, LEFT_DOWN -> -1;
+            case RIGHT_UP, RIGHT, RIGHT_DOWN -> 1;
+            default -> 0;
+        };
+    }
+
+    /**
+     * Get the vertical part of a step in this direction.
+     * @return -1 for up, 1 for down, 0 otherwise.
+     */
+    public int getStepY() {
+        return switch (this) {
+            case UP, LEFT_UP, RIGHT_UP -> -1;
+            case DOWN, LEFT_DOWN, RIGHT_DOWN -> 1;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ * TITLE: RandomStream
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: The independent streams of randomness in a game.
+ */
+
+package enums;
+
+/**
+ * One stream per subsystem, so that one subsystem drawing more numbers never shifts another's sequence.
+ */
+public enum RandomStream {
+    STATION_SPAWN,
+    STATION_TYPE,
+    STATION_PLACEMENT,
+    PASSENGER_SPAWN,
+    PASSENGER_TYPE
+}
@@ -0,0 +1,160 @@
+/*
+ * TITLE: BatchRunner
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Play many headless games in parallel and summarise the results.
+ */
+
+package main;
+
+import enums.Map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Command-line batch mode: java main.Main --batch SEEDS [tick budget] [MAP ...]
+ * Plays every seed on every map (all maps if none are given), one independent GameWorld per game, across all cores.
+ */
+public class BatchRunner {
+
+    /**
+     * Parse the command-line arguments, play the batch and print a report.
+     * @param args The number of seeds, then optionally the tick budget and the maps.
+     */
+    public static void run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            HeadlessRunner.exitWithUsage("usage: --batch SEEDS [tick budget] [MAP ...]");
+            return;
+        }
+
+        int seeds, tickBudget;
+        Map[] levels = Map.values();
+        try {
+            seeds = Integer.parseInt(args[0]);
+            if (seeds <= 0) throw new IllegalArgumentException("no seeds to play");
+            tickBudget = args.length > 1 ? Integer.parseInt(args[1]) : HeadlessRunner.DEFAULT_TICK_BUDGET;
+            if (args.length > 2) {
+                levels = new Map[args.length - 2];
+                for (int i = 2; i < args.length; i++) levels[i - 2] = Map.valueOf(args[i].toUpperCase().replace('-', '_'));
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            HeadlessRunner.exitWithUsage("usage: --batch SEEDS [tick budget] [MAP ...]");
+            return;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+        long startTime = System.nanoTime();
+        List<HeadlessRunner.Result> results = play(levels, seeds, tickBudget, pool);
+        long nanos = System.nanoTime() - startTime;
+
+        pool.shutdown();
+
+        long totalTicks = 0;
+        for (HeadlessRunner.Result result : results) totalTicks += result.ticks();
+
+        System.out.printf("%d games (%d seeds x %d maps), tick budget %d, %d threads%n", results.size(), seeds, levels.length, tickBudget, pool.getParallelism());
+        System.out.printf("%.3f s total, %.0f games/min, %.0f ticks/s%n", nanos / 1e9, results.size() / (nanos / 6e10), totalTicks / (nanos / 1e9));
+        System.out.println();
+        System.out.printf("%-14s %10s %27s %27s%n", "map", "game overs", "points p10/p50/p90 (mean)", "survival p10/p50/p90 (mean)");
+
+        for (Map level : levels) {
+            ArrayList<HeadlessRunner.Result> levelResults = new ArrayList<HeadlessRunner.Result>();
+            for (HeadlessRunner.Result result : results) if (result.level() == level) levelResults.add(result);
+
+            int[] points = new int[levelResults.size()];
+            int[] survival = new int[levelResults.size()];
+            int gameOvers = 0;
+            for (int i = 0; i < levelResults.size(); i++) {
+                points[i] = levelResults.get(i).points();
+                survival[i] = levelResults.get(i).ticks();
+                if (levelResults.get(i).isGameOver()) gameOvers++;
+            }
+
+            System.out.printf("%-14s %10s %27s %27s%n", level, gameOvers + "/" + levelResults.size(), summarise(points), summarise(survival));
+        }
+    }
+
+    /**
+     * Play every seed (0 to seeds - 1) on every level.
+     * @param levels The maps to play.
+     * @param seeds The number of seeds per map.
+     * @param tickBudget The most ticks per game.
+     * @param pool The pool to play the games on.
+     * @return One result per game, in map-major, seed-minor order.
+     */
+    public static List<HeadlessRunner.Result> play(Map[] levels, int seeds, int tickBudget, ForkJoinPool pool) {
+        return pool.invoke(new GamesTask(levels, seeds, tickBudget, 0, levels.length * seeds));
+    }
+
+    /**
+     * Percentiles and mean of a distribution.
+     * @param values The values, reordered by this method.
+     * @return Something like "12/30/55 (31.2)".
+     */
+    static String summarise(int[] values) {
+        if (values.length == 0) return "-";
+
+        Arrays.sort(values);
+        long sum = 0;
+        for (int value : values) sum += value;
+
+        return String.format("%d/%d/%d (%.1f)", values[(values.length - 1) / 10], values[(values.length - 1) / 2], values[(values.length - 1) * 9 / 10], (double) sum / values.length);
+    }
+
+    /**
+     * Plays a range of the batch's games, splitting in half until only one game is left.
+     */
+    private static class GamesTask extends RecursiveTask<List<HeadlessRunner.Result>> {
+        private final Map[] levels;
+        private final int seeds;
+        private final int tickBudget;
+        private final int from, to;
+
+        /**
+         * GamesTask constructor.
+         * @param levels The maps to play.
+         * @param seeds The number of seeds per map.
+         * @param tickBudget The most ticks per game.
+         * @param from The first game index (inclusive).
+         * @param to The last game index (exclusive).
+         */
+        GamesTask(Map[] levels, int seeds, int tickBudget, int from, int to) {
+            this.levels = levels;
+            this.seeds = seeds;
+            this.tickBudget = tickBudget;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Play the games, either directly or by forking.
+         * @return The results, in game index order.
+         */
+        @Override
+        protected List<HeadlessRunner.Result> compute() {
+            if (this.to <= this.from) return List.of();
+            if (this.to - this.from == 1) {
+                return List.of(HeadlessRunner.play(this.levels[this.from / this.seeds], this.from % this.seeds, this.tickBudget));
+            }
+
+            int middle = (this.from + this.to) >>> 1;
+            GamesTask left = new GamesTask(this.levels, this.seeds, this.tickBudget, this.from, middle);
+            GamesTask right = new GamesTask(this.levels, this.seeds, this.tickBudget, middle, this.to);
+            left.fork();
+
+            ArrayList<HeadlessRunner.Result> results = new ArrayList<HeadlessRunner.Result>(right.compute());
+            results.addAll(0, left.join());
+            return results;
+        }
+
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * TITLE: GameLoop
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Fixed-timestep simulation loop, kept separate from painting.
+ */
+
+package main;
+
+import javax.swing.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * Runs the simulation at a fixed rate measured with System.nanoTime, catching up on missed steps, and asks for a repaint afterwards.
+ */
+public class GameLoop implements ActionListener {
+
+    // one simulation step every 10 ms, the same as the old repaint timer
+    public static final long STEP_NANOS = 10_000_000L;
+
+    // most steps run in one go after a long frame; anything beyond this is dropped instead of snowballing
+    public static final int MAX_CATCH_UP_STEPS = 25;
+
+    // how often the loop wakes up to check the clock (ms)
+    private static final int POLL_DELAY = 4;
+
+    private final Runnable step;
+    private final Runnable render;
+    private final Timer timer;
+    private long previousTime;
+    private long accumulator;
+
+    /**
+     * GameLoop constructor.
+     * @param step What to do once per simulation step.
+     * @param render What to do after one or more steps have run.
+     */
+    public GameLoop(Runnable step, Runnable render) {
+        this.step = step;
+        this.render = render;
+        this.timer = new Timer(POLL_DELAY, this);
+        this.timer.setCoalesce(true);
+    }
+
+    /**
+     * Start the loop.
+     */
+    public void start() {
+        this.previousTime = System.nanoTime();
+        this.accumulator = 0;
+        this.timer.start();
+    }
+
+    /**
+     * Stop the loop.
+     */
+    public void stop() {
+        this.timer.stop();
+    }
+
+    /**
+     * Run every step that is due since the last check, then render once.
+     * @param e The timer event.
+     */
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        long now = System.nanoTime();
+        this.accumulator += now - this.previousTime;
+        this.previousTime = now;
+
+        int steps = 0;
+        while (this.accumulator >= STEP_NANOS && steps < MAX_CATCH_UP_STEPS) {
+            this.step.run();
+            this.accumulator -= STEP_NANOS;
+            steps++;
+        }
+
+        // too far behind (e.g. the window was dragged), forget the rest rather than fast-forwarding
+        if (steps == MAX_CATCH_UP_STEPS) this.accumulator %= STEP_NANOS;
+
+        if (steps > 0) this.render.run();
+    }
+
+}
@@ -0,0 +1,379 @@
+/*
+ * TITLE: GameWorld
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Everything that belongs to one game, so that many games can run side by side.
+ */
+
+package main;
+
+import enums.Map;
+import enums.Shape;
+import objects.CrowdingTracker;
+import objects.MetroLine;
+import objects.MetroMap;
+import objects.Station;
+import objects.StationStore;
+import objects.Train;
+import spawners.PassengerSpawner;
+import spawners.StationSpawner;
+import utilities.GameRandom;
+import utilities.MapUtilities;
+import utilities.Router;
+import utilities.Grid;
+import utilities.Scheduler;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of a single game: map, grid, stations, lines, score and clock. Worlds share no mutable state with each other.
+ */
+public class GameWorld {
+
+    // one tick is one minute
+    public static final int WEEK = 10080;
+
+    // level data is loaded once and only ever read afterwards, so every world can share it
+    private static final ConcurrentHashMap<Map, MetroMap> metroMaps = new ConcurrentHashMap<Map, MetroMap>();
+    private static final ConcurrentHashMap<Map, Grid> gridTemplates = new ConcurrentHashMap<Map, Grid>();
+
+    private final Map level;
+    private final MetroMap map;
+    private final GameRandom random;
+    private final MetroLine[] lines;
+    private final StationStore stationStore;
+    private final Station[] stationsByCell;
+    private final ArrayList<Shape> shapesPresent;
+    private final Grid grid;
+    private final int[] resources;
+    private final Scheduler scheduler;
+    private final Router router;
+    private final CrowdingTracker crowding;
+    private final StationSpawner stationSpawner;
+    private final PassengerSpawner passengerSpawner;
+    private int points;
+    private int ticks;
+    private int gameOverTick;
+    private Station overcrowdedStation;
+
+    /**
+     * Set up a fresh game.
+     * @param level The map to play on.
+     * @param seed The seed for all of the game's randomness; the same seed and moves replay the same game.
+     */
+    public GameWorld(Map level, long seed) {
+        this.level = level;
+        this.map = metroMaps.computeIfAbsent(level, MetroMap::new);
+        this.random = new GameRandom(seed);
+        this.lines = new MetroLine[7];
+        this.stationStore = new StationStore();
+        this.stationsByCell = new Station[Grid.WIDTH * Grid.HEIGHT];
+        this.shapesPresent = new ArrayList<Shape>(10);
+        this.resources = new int[4];
+        this.scheduler = new Scheduler();
+        this.router = new Router(this.lines);
+        this.crowding = new CrowdingTracker();
+        this.stationSpawner = new StationSpawner(this);
+        this.passengerSpawner = new PassengerSpawner(this);
+        this.gameOverTick = -1;
+
+        // set up grid squares from the level's template
+        this.grid = new Grid(gridTemplates.computeIfAbsent(level, GameWorld::createGridTemplate));
+
+        // add initial lines
+        this.lines[0] = new MetroLine(this, 0, this.map.getColours()[0]);
+        this.lines[1] = new MetroLine(this, 1, this.map.getColours()[1]);
+        this.lines[2] = new MetroLine(this, 2, this.map.getColours()[2]);
+
+        // add initial stations
+        addStation(new Station(this, Shape.CIRCLE));
+        addStation(new Station(this, Shape.TRIANGLE));
+        addStation(new Station(this, Shape.SQUARE));
+
+        // recurring events
+        this.stationSpawner.start();
+        this.scheduler.schedule(WEEK, this::endOfWeek);
+    }
+
+    /**
+     * Work out which grid squares of a level stations may spawn on.
+     * @param level The level.
+     * @return The grid before any stations are placed.
+     */
+    private static Grid createGridTemplate(Map level) {
+        Grid grid = new Grid();
+
+        MapUtilities.initializeGrid(grid); // set all to default ("COUNTRY")
+        MapUtilities.detectWaterAndCity(grid, metroMaps.computeIfAbsent(level, MetroMap::new));
+        MapUtilities.disallowEdge(grid);
+        MapUtilities.disallowMenuAreas(grid);
+
+        return grid;
+    }
+
+    /**
+     * Advance the game by exactly one tick: due events (spawning, weekly upgrades, trains leaving stations), trains and the game over check.
+     */
+    public void tick() {
+        if (isGameOver()) return;
+
+        // passenger routes, if the lines have changed
+        this.router.update();
+
+        // whatever is scheduled for now
+        this.scheduler.runDue(this.ticks);
+
+        // trains
+        for (MetroLine line : this.lines) {
+            if (line != null) {
+                for (Train train : line.getTrains()) {
+                    train.move();
+                }
+            }
+        }
+
+        // check for game over
+        if (this.crowding.isOvercrowded()) {
+            this.gameOverTick = this.ticks;
+            this.overcrowdedStation = this.stationStore.getStation(this.crowding.getMostCrowded());
+        }
+
+        this.ticks++;
+    }
+
+    /**
+     * Jump straight to the next tick on which something happens: a scheduled event (spawn check, end of week, end of a dwell) or a train reaching a station.
+     * Every tick skipped would only have moved the trains along their segments, so the game carries on exactly as if each had been simulated.
+     * @param limit The latest tick to skip to.
+     */
+    public void skipToNextEvent(int limit) {
+        if (isGameOver()) return;
+
+        // the soonest event
+        int next = Math.min(this.scheduler.nextTick(), limit);
+        for (MetroLine line : this.lines) {
+            if (line != null) {
+                for (Train train : line.getTrains()) {
+                    int moves = train.getMovesToArrival();
+                    if (moves >= 0) next = Math.min(next, this.ticks + moves);
+                }
+            }
+        }
+        if (next <= this.ticks) return;
+
+        // the trains' moves up to then, all at once
+        for (MetroLine line : this.lines) {
+            if (line != null) {
+                for (Train train : line.getTrains()) {
+                    train.skip(next - this.ticks);
+                }
+            }
+        }
+
+        this.ticks = next;
+    }
+
+    /**
+     * End of week, upgrades! Runs every WEEK ticks.
+     */
+    private void endOfWeek() {
+        // find the first locked line and unlock it
+        for (int i = 0; i < 7; i++) {
+            if (this.lines[i] == null) {
+                this.lines[i] = new MetroLine(this, i, this.map.getColours()[i]);
+                break;
+            }
+        }
+
+        // carriages only come from here, one a week, to attach to any train
+        this.resources[1]++; // +1 carriage!
+
+        this.scheduler.schedule(this.ticks + WEEK, this::endOfWeek);
+    }
+
+    /**
+     * Add a new station to the game and start spawning passengers at it.
+     * @param station The station.
+     */
+    public void addStation(Station station) {
+        this.stationsByCell[station.getGridY() * Grid.WIDTH + station.getGridX()] = station;
+        this.passengerSpawner.addStation(station);
+    }
+
+    /**
+     * Get the level being played.
+     * @return The level.
+     */
+    public Map getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Get the map's images and colours.
+     * @return The map.
+     */
+    public MetroMap getMap() {
+        return this.map;
+    }
+
+    /**
+     * Get the game's random source.
+     * @return The random source.
+     */
+    public GameRandom getRandom() {
+        return this.random;
+    }
+
+    /**
+     * Get the lines; locked lines are null.
+     * @return The array of seven lines.
+     */
+    public MetroLine[] getLines() {
+        return this.lines;
+    }
+
+    /**
+     * Get the stations, in the order they appeared.
+     * @return The list of stations.
+     */
+    public ArrayList<Station> getStations() {
+        return this.stationStore.getStations();
+    }
+
+    /**
+     * Get the data of every station.
+     * @return The station store.
+     */
+    public StationStore getStationStore() {
+        return this.stationStore;
+    }
+
+    /**
+     * Find the station on a grid square.
+     * @param x The square's grid x-coordinate.
+     * @param y The square's grid y-coordinate.
+     * @return The station there, null if there is none or the square is off the grid.
+     */
+    public Station getStationAt(int x, int y) {
+        if (x < 0 || x >= Grid.WIDTH || y < 0 || y >= Grid.HEIGHT) return null;
+        return this.stationsByCell[y * Grid.WIDTH + x];
+    }
+
+    /**
+     * Get the shapes that have appeared on the map so far.
+     * @return The list of shapes.
+     */
+    public ArrayList<Shape> getShapesPresent() {
+        return this.shapesPresent;
+    }
+
+    /**
+     * Get the grid of square types.
+     * @return The grid.
+     */
+    public Grid getGrid() {
+        return this.grid;
+    }
+
+    /**
+     * Get the game's event scheduler.
+     * @return The scheduler.
+     */
+    public Scheduler getScheduler() {
+        return this.scheduler;
+    }
+
+    /**
+     * Get the game's passenger router.
+     * @return The router.
+     */
+    public Router getRouter() {
+        return this.router;
+    }
+
+    /**
+     * Get how crowded the stations are.
+     * @return The crowding tracker.
+     */
+    public CrowdingTracker getCrowding() {
+        return this.crowding;
+    }
+
+    /**
+     * Get the inventory.
+     * @return Counts of each Resource, by ordinal.
+     */
+    public int[] getResources() {
+        return this.resources;
+    }
+
+    /**
+     * Get the number of trains in the inventory that can be added to a line that already has one.
+     * @return The trains in stock, less one kept for every unlocked line that has no train yet.
+     */
+    public int getSpareTrains() {
+        int spare = this.resources[0];
+        for (MetroLine line : this.lines) {
+            if (line != null && line.getTrains().isEmpty()) spare--;
+        }
+        return spare;
+    }
+
+    /**
+     * Get the number of grid squares a station could still spawn on.
+     * @return The number of open squares.
+     */
+    public int getOpenCount() {
+        return this.grid.getOpenCount();
+    }
+
+    /**
+     * Get the score.
+     * @return The number of passengers delivered.
+     */
+    public int getPoints() {
+        return this.points;
+    }
+
+    /**
+     * Passengers have been delivered.
+     * @param points The number of passengers delivered.
+     */
+    public void addPoints(int points) {
+        this.points += points;
+    }
+
+    /**
+     * Get the game clock; one tick is one minute.
+     * @return The number of ticks simulated so far.
+     */
+    public int getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Determine whether the game has ended.
+     * @return True once a station has overcrowded.
+     */
+    public boolean isGameOver() {
+        return this.gameOverTick >= 0;
+    }
+
+    /**
+     * Get when the game ended.
+     * @return The tick of the game over, -1 if still running.
+     */
+    public int getGameOverTick() {
+        return this.gameOverTick;
+    }
+
+    /**
+     * Get the station that ended the game.
+     * @return The overcrowded station, null if still running.
+     */
+    public Station getOvercrowdedStation() {
+        return this.overcrowdedStation;
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * TITLE: HeadlessRunner
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Play whole games without a window, as fast as possible.
+ */
+
+package main;
+
+import enums.Map;
+import enums.Shape;
+import objects.MetroLine;
+import objects.Station;
+import objects.StationStore;
+
+import java.util.Arrays;
+
+/**
+ * Command-line fast-forward mode: java main.Main --headless MAP [seed] [tick budget]
+ * Ticks on which nothing happens are skipped rather than simulated one by one.
+ */
+public class HeadlessRunner {
+
+    // ten weeks of game time
+    public static final int DEFAULT_TICK_BUDGET = 10080 * 10;
+
+    /**
+     * The outcome of one headless game.
+     * @param level The map that was played.
+     * @param seed The seed used for all randomness.
+     * @param ticks How many ticks were simulated.
+     * @param nanos How long the simulation took in real time.
+     * @param points The points scored.
+     * @param gameOverTick The tick of the game over, -1 if the tick budget ran out first.
+     * @param overcrowdedType The type of the station that ended the game, null if it did not end.
+     * @param overcrowdedX The grid x-coordinate of that station.
+     * @param overcrowdedY The grid y-coordinate of that station.
+     */
+    public record Result(Map level, long seed, int ticks, long nanos, int points, int gameOverTick, Shape overcrowdedType, int overcrowdedX, int overcrowdedY) {
+
+        /**
+         * Get the simulation speed.
+         * @return Ticks simulated per second of real time.
+         */
+        public double ticksPerSecond() {
+            return this.ticks / (this.nanos / 1e9);
+        }
+
+        /**
+         * Determine whether the game ended before the tick budget ran out.
+         * @return True if a station overcrowded.
+         */
+        public boolean isGameOver() {
+            return this.gameOverTick >= 0;
+        }
+
+    }
+
+    /**
+     * Parse the command-line arguments, play one game and print a report.
+     * @param args The map name, then optionally the seed and the tick budget.
+     */
+    public static void run(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            exitWithUsage("usage: --headless MAP [seed] [tick budget]");
+            return;
+        }
+
+        Map level;
+        long seed;
+        int tickBudget;
+        try {
+            level = Map.valueOf(args[0].toUpperCase().replace('-', '_'));
+            seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+            tickBudget = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_TICK_BUDGET;
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            exitWithUsage("usage: --headless MAP [seed] [tick budget]");
+            return;
+        }
+
+        Result result = play(level, seed, tickBudget);
+
+        System.out.printf("map: %s, seed: %d, tick budget: %d%n", level, seed, tickBudget);
+        System.out.printf("simulated %d ticks in %.3f s (%.0f ticks/s)%n", result.ticks(), result.nanos() / 1e9, result.ticksPerSecond());
+        System.out.printf("points: %d%n", result.points());
+        if (result.isGameOver()) {
+            System.out.printf("game over at tick %d (%s): %s station at (%d, %d) overcrowded%n", result.gameOverTick(), formatTime(result.gameOverTick()), result.overcrowdedType(), result.overcrowdedX(), result.overcrowdedY());
+        } else {
+            System.out.println("no game over within the tick budget");
+        }
+    }
+
+    /**
+     * Report bad command-line arguments and stop.
+     * @param usage The usage line of the mode that was run.
+     */
+    static void exitWithUsage(String usage) {
+        System.err.println(usage);
+        System.err.println("maps: " + Arrays.toString(Map.values()));
+        System.exit(1);
+    }
+
+    /**
+     * Play one game from start to game over or until the tick budget runs out.
+     * @param level The map to play.
+     * @param seed The seed for all randomness.
+     * @param tickBudget The most ticks to simulate.
+     * @return What happened.
+     */
+    public static Result play(Map level, long seed, int tickBudget) {
+        GameWorld world = new GameWorld(level, seed);
+
+        long startTime = System.nanoTime();
+        while (!world.isGameOver() && world.getTicks() < tickBudget) {
+            autoConnect(world);
+
+            // nothing to draw, so go straight to whenever something next happens
+            world.skipToNextEvent(tickBudget);
+            if (world.getTicks() < tickBudget) world.tick();
+        }
+        long nanos = System.nanoTime() - startTime;
+
+        Station station = world.getOvercrowdedStation();
+        if (station == null) return new Result(level, seed, world.getTicks(), nanos, world.getPoints(), -1, null, -1, -1);
+        return new Result(level, seed, world.getTicks(), nanos, world.getPoints(), world.getGameOverTick(), station.getType(), station.getGridX(), station.getGridY());
+    }
+
+    /**
+     * Stand-in for the player: every unconnected station is added to the end of the shortest unlocked line, so that trains have somewhere to go, and every spare train and carriage is put to use.
+     * @param world The game to play.
+     */
+    static void autoConnect(GameWorld world) {
+        StationStore store = world.getStationStore();
+        for (int id = store.nextUnconnected(0); id >= 0; id = store.nextUnconnected(id + 1)) {
+            Station station = store.getStation(id);
+
+            MetroLine shortest = null;
+            for (MetroLine line : world.getLines()) {
+                if (line != null && (shortest == null || line.getStations().size() < shortest.getStations().size())) shortest = line;
+            }
+
+            station.setDiagonal(shortest, false);
+            shortest.addStation(station, false);
+        }
+
+        // spare trains and carriages go to the longest line, which has the most passengers to carry
+        MetroLine longest = null;
+        boolean allRunning = true;
+        for (MetroLine line : world.getLines()) {
+            if (line != null && line.getTrains().isEmpty()) allRunning = false; // keep a train for every line
+            if (line != null && !line.getTrains().isEmpty() && (longest == null || line.getStations().size() > longest.getStations().size())) longest = line;
+        }
+        if (longest != null) {
+            if (allRunning) while (longest.addLocomotive());
+            while (longest.addCarriage());
+        }
+    }
+
+    /**
+     * Format a tick count as a day of the week and a clock time (one tick is one minute).
+     * @param ticks The tick count.
+     * @return Something like "day 3, WED 14:20".
+     */
+    static String formatTime(int ticks) {
+        return String.format("day %d, %s %02d:%02d", ticks / 1440 + 1, Main.days[(ticks / 1440) % 7], (ticks % 1440) / 60, ticks % 60);
+    }
+
+}
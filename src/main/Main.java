@@ -9,22 +9,24 @@ package main;
 
 import enums.Map;
 import enums.Screen;
-import enums.Shape;
 import objects.*;
-import spawners.PassengerSpawner;
-import spawners.StationSpawner;
 import utilities.FontUtilities;
+import utilities.Grid;
 import utilities.ImageUtilities;
-import utilities.MapUtilities;
+import utilities.LineLayer;
+import utilities.RenderCache;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.awt.geom.GeneralPath;
+import java.awt.geom.Line2D;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Main everything - this is where it all begins.
@@ -36,6 +38,16 @@ public class Main {
      * @param args args
      */
     public static void main(String[] args) {
+        // no window at all, just simulate
+        if (args.length > 0 && args[0].equals("--headless")) {
+            HeadlessRunner.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--batch")) {
+            BatchRunner.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
         SwingUtilities.invokeLater(new Runnable() {
             @Override
             public void run() {
@@ -44,32 +56,28 @@ public class Main {
         });
     }
 
-    // the window
-    public static JFrame mainFrame = new JFrame();
+    // the window (created in the constructor so that headless runs never touch it)
+    public static JFrame mainFrame;
+    public static int windowWidth = 1920;
 
     // graphics!
     public static Graphics2D g2D;
     static GraphicsPanel graphicsPanel;
 
-    // grid square type constants
-    public static final double MARGIN = -2.0;
-    public static final double TAKEN = -1.0;
-    public static final double WATER = 0.0;
-    public static final double COUNTRY = 0.5;
-    public static final double CITY = 1.0;
-    public static int openCount = 80 * 45;
-
-    // objects & object arrays :D
-    public static MetroMap map;
+    // the game being played & object arrays :D
+    public static GameWorld world;
     static Image mapImage;
-    public static MetroLine[] lines;
-    public static ArrayList<Station> stations = new ArrayList<Station>();
-    public static ArrayList<Shape> shapesPresent = new ArrayList<Shape>(10);
+    static final LineLayer lineLayer = new LineLayer();
     static String[] days = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+    static final Line2D.Double clockHand = new Line2D.Double();
+    static String pointsText; // kept until the score changes
+    static int pointsTextValue = -1;
+    static String gameOverText; // kept until the final score changes
+    static int gameOverPoints = -1;
     public static Screen screenState = Screen.STUDIO_TITLE;
 
     // variables
-    public static double gridSize;
+    public static double gridSize = windowWidth / 80.0;
     static int mouseX, mouseY;
     static int gridX, gridY;
     static boolean controlHeld = false;
@@ -77,25 +85,23 @@ public class Main {
     static boolean sHeld = false;
     static int currentLine;
     static int circleHover = -1;
-    public static int[] resources = new int[4];
-    public static double[][] grid = new double[45][80];
-    public static int points;
+    static ArrayList<Station> selectedStations = new ArrayList<Station>();
     static int levelSelectIndex;
 
     // timer - for animation, etc.
     public static int ticks = 0; // set to 450 to skip studio screen
     public static int tickRate = 1; // tick speed multiplier
+    static final int MAX_TICK_RATE = 64;
     static int regularTickRate = tickRate;
     static Screen pScreen;
-    Timer timer = new Timer(10, new ActionListener() {
-        @Override
-        public void actionPerformed(ActionEvent e) {
-            if (screenState != pScreen) ticks = 0; // reset ticks if screen has changed
-            pScreen = screenState; // save current screen
-
-            graphicsPanel.repaint(); // draw graphics
-            ticks += tickRate; // increment ticks by rate
-        }
+    static int studioTitleScreenOpacity = 0;
+    GameLoop gameLoop = new GameLoop(Main::tick, () -> graphicsPanel.repaint());
+
+    // passenger routes are worked out off the event dispatch thread
+    static final ExecutorService routingExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "routing");
+        thread.setDaemon(true);
+        return thread;
     });
 
     // fonts
@@ -108,6 +114,8 @@ public class Main {
      * Constructor - where the main magic happens.
      */
     Main() {
+        mainFrame = new JFrame();
+
         // title, icon
         mainFrame.setTitle("SmallSubways");
         mainFrame.setIconImage(ImageUtilities.importImage("images/icons/app.png"));
@@ -130,7 +138,38 @@ public class Main {
 
         // begin!
         graphicsPanel.requestFocus();
-        timer.start();
+        gameLoop.start();
+    }
+
+    /**
+     * One simulation step; everything that changes over time happens here, never while painting.
+     */
+    static void tick() {
+        if (screenState != pScreen) ticks = 0; // reset ticks if screen has changed
+        pScreen = screenState; // save current screen
+
+        if (screenState == Screen.STUDIO_TITLE) {
+            // fade in...
+            if (ticks >= 50 && ticks < 150) {
+                if (studioTitleScreenOpacity < 1000) studioTitleScreenOpacity += 10;
+            }
+
+            // fade out...
+            if (ticks >= 300) {
+                if (studioTitleScreenOpacity > 0) studioTitleScreenOpacity -= 10;
+            }
+
+            if (ticks == 450) screenState = Screen.MAIN_MENU;
+        }
+
+        if (screenState == Screen.GAME) {
+            // fast-forward in one-tick sub-steps so nothing is skipped over or overshot at high speeds
+            for (int i = 0; i < tickRate && !world.isGameOver(); i++) world.tick();
+
+            if (world.isGameOver()) screenState = Screen.GAME_OVER;
+        } else {
+            ticks += tickRate; // increment ticks by rate
+        }
     }
 
     /**
@@ -139,33 +178,54 @@ public class Main {
      * @return The map's background.
      */
     private static Image mapSetup(Map level) {
-        map = new MetroMap(level);
+        world = new GameWorld(level, System.nanoTime());
+        world.getRouter().setExecutor(routingExecutor);
 
-        // reset level data
-        ticks = 0; tickRate = 1; regularTickRate = 1; // regular speed (1x)
-        lines = new MetroLine[]{null, null, null, null, null, null, null}; // clear lines
-        stations.clear(); // clear stations
-        resources = new int[4]; // reset resources
+        // reset level controls
+        tickRate = 1; regularTickRate = 1; // regular speed (1x)
         currentLine = 0; // first line is selected
-        points = 0; // reset points
+        selectedStations.clear();
 
-        // set up grid squares
-        MapUtilities.initializeGrid(); // set all to default ("COUNTRY")
-        MapUtilities.detectWaterAndCity();
-        MapUtilities.disallowEdge();
-        MapUtilities.disallowMenuAreas();
+        return ImageUtilities.resizeFullScreen(world.getMap().getMap());
+    }
 
-        // add initial lines
-        lines[0] = new MetroLine(map.getColours()[0]);
-        lines[1] = new MetroLine(map.getColours()[1]);
-        lines[2] = new MetroLine(map.getColours()[2]);
+    /**
+     * Determine whether any of a line's trains is travelling to or from a station.
+     * @param line The line.
+     * @param station The station.
+     * @return True if changing the line at the station would pull a segment out from under a train.
+     */
+    private static boolean isInUse(MetroLine line, Station station) {
+        for (Train train : line.getTrains()) {
+            if (station == train.getFromStation() || station == train.getToStation()) return true;
+        }
+        return false;
+    }
 
-        // add initial stations
-        stations.add(new Station(Shape.CIRCLE));
-        stations.add(new Station(Shape.TRIANGLE));
-        stations.add(new Station(Shape.SQUARE));
+    /**
+     * Get the score as text, only making a new string when the score is different.
+     * @param points The score.
+     * @return The text to show.
+     */
+    private static String getPointsText(int points) {
+        if (points != pointsTextValue) {
+            pointsText = String.valueOf(points);
+            pointsTextValue = points;
+        }
+        return pointsText;
+    }
 
-        return ImageUtilities.resizeFullScreen(map.getMap());
+    /**
+     * Get the final score line of the game over screen, only making a new one when the score is different.
+     * @param points The final score.
+     * @return The text to show.
+     */
+    private static String getGameOverText(int points) {
+        if (points != gameOverPoints) {
+            gameOverText = String.format("You had %d points.", points);
+            gameOverPoints = points;
+        }
+        return gameOverText;
     }
 
     /**
@@ -181,7 +241,7 @@ public class Main {
                 for (int j = 0; j < 2; j++) {
                     for (int k = 0; k < 2; k++) {
                         if (i * 3 + 58 + j == gridX && k + 41 == gridY) {
-                            if (lines[i] != null) circleHover = i;
+                            if (world.getLines()[i] != null) circleHover = i;
                             break;
                         }
                     }
@@ -189,26 +249,23 @@ public class Main {
             }
         } else {
             // station hover, entire line
-            for (Station station : stations) {
-                if (station.getGridX() == gridX && station.getGridY() == gridY) {
-                    circleHover = currentLine;
-                    break;
-                }
-            }
+            if (world.getStationAt(gridX, gridY) != null) circleHover = currentLine;
         }
 
-        for (Station station : stations) station.setSelected(station.getGridX() == gridX && station.getGridY() == gridY);
-        if (circleHover >= 0) for (Station station : lines[circleHover].getStations()) station.setSelected(true);
+        // only the stations selected last time can need deselecting
+        for (Station station : selectedStations) station.setSelected(false);
+        selectedStations.clear();
+
+        Station hoveredStation = world.getStationAt(gridX, gridY);
+        if (hoveredStation != null) selectedStations.add(hoveredStation);
+        if (circleHover >= 0) selectedStations.addAll(world.getLines()[circleHover].getStations());
+        for (Station station : selectedStations) station.setSelected(true);
     }
 
     /**
      * Inner class for drawing.
      */
     private static class GraphicsPanel extends JPanel {
-        // variables
-        int studioTitleScreenOpacity = 0;
-        int lastWeekTick = 0;
-
         // images
         Image studioTitleScreen = ImageUtilities.importImage("images/other/barking-seal-design.png");
         Image mainMenu = ImageUtilities.importImage("images/other/main-menu.png");
@@ -238,7 +295,8 @@ public class Main {
         GraphicsPanel() {
             // important initialization
             this.setBackground(Color.BLACK);
-            gridSize = mainFrame.getWidth() / 80.0;
+            windowWidth = mainFrame.getWidth();
+            gridSize = windowWidth / 80.0;
 
             // fonts
             robotoMonoRegular24 = FontUtilities.importFont("fonts/RobotoMono-Regular.ttf", (float) (gridSize));
@@ -281,20 +339,8 @@ public class Main {
             g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
             if (screenState == Screen.STUDIO_TITLE) {
-                // fade in...
-                if (ticks >= 50 && ticks < 150) {
-                    if (studioTitleScreenOpacity < 1000) studioTitleScreenOpacity += 10;
-                }
-
-                // fade out...
-                if (ticks >= 300) {
-                    if (studioTitleScreenOpacity > 0) studioTitleScreenOpacity -= 10;
-                }
-
                 g2D.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, studioTitleScreenOpacity / 1000f));
                 ImageUtilities.drawImageFullScreen(studioTitleScreen);
-
-                if (ticks == 450) screenState = Screen.MAIN_MENU;
             }
 
             if (screenState == Screen.MAIN_MENU) {
@@ -307,7 +353,7 @@ public class Main {
                 g2D.fillRect(0, 0, this.getWidth(), this.getHeight());
 
                 // back arrow
-                g2D.setColor(Colour.GREY_30); g2D.setStroke(new BasicStroke((float) (gridSize / 2), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g2D.setColor(Colour.GREY_30); g2D.setStroke(RenderCache.getStroke(gridSize / 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 7), (int) (gridSize * 3));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 2));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 4));
@@ -351,7 +397,7 @@ public class Main {
                 g2D.fillRect(0, 0, this.getWidth(), this.getHeight());
 
                 // back arrow
-                g2D.setColor(Colour.GREY_30); g2D.setStroke(new BasicStroke((float) (gridSize / 2), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g2D.setColor(Colour.GREY_30); g2D.setStroke(RenderCache.getStroke(gridSize / 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 7), (int) (gridSize * 3));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 2));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 4));
@@ -365,46 +411,42 @@ public class Main {
                 // level background
                 ImageUtilities.drawImageFullScreen(mapImage);
 
-                // spawning
-                StationSpawner.stationTick();
-                for (Station station : stations) PassengerSpawner.passengerTick(station);
-
                 // EDIT/DEBUG MODE!!
                 if (controlHeld) {
                     // grid square types
+                    Grid grid = world.getGrid();
                     for (int i = 0; i < 45; i++) {
                         for (int j = 0; j < 80; j++) {
-                            if (grid[i][j] == WATER) g2D.setColor(Colour.LIGHT_BLUE);
-                            if (grid[i][j] == COUNTRY) g2D.setColor(Colour.LIGHT_YELLOW_GREEN);
-                            if (grid[i][j] == TAKEN) g2D.setColor(Colour.LIGHT_RED);
-                            if (grid[i][j] == MARGIN) g2D.setColor(Colour.LIGHT_YELLOW);
+                            if (grid.get(j, i) == Grid.WATER) g2D.setColor(Colour.LIGHT_BLUE);
+                            if (grid.get(j, i) == Grid.COUNTRY) g2D.setColor(Colour.LIGHT_YELLOW_GREEN);
+                            if (grid.get(j, i) == Grid.TAKEN) g2D.setColor(Colour.LIGHT_RED);
+                            if (grid.get(j, i) == Grid.MARGIN) g2D.setColor(Colour.LIGHT_YELLOW);
 
-                            if (grid[i][j] != CITY) g2D.fillRect((int) (j * (gridSize)), (int) (i * gridSize), (int) gridSize, mainFrame.getHeight() / 45);
+                            if (grid.get(j, i) != Grid.CITY) g2D.fillRect((int) (j * (gridSize)), (int) (i * gridSize), (int) gridSize, mainFrame.getHeight() / 45);
                         }
                     }
                 }
 
-                // lines & trains
-                for (MetroLine line : lines) {
+                // lines, from the line layer, then trains
+                lineLayer.draw(world.getLines());
+                for (MetroLine line : world.getLines()) {
                     if (line != null) {
-                        line.draw();
-
                         for (Train train : line.getTrains()) {
-                            train.moveAndDraw();
+                            train.draw();
                         }
                     }
                 }
 
                 // passengers
-                for (Station station : stations) {
+                for (Station station : world.getStations()) {
                     station.drawPassengers();
                 }
 
                 // stations
-                for (Station station : stations) {
+                for (Station station : world.getStations()) {
                     if (station.isSelected()) {
-                        if (circleHover >= 0) station.highlight(lines[circleHover].getColour());
-                        else station.highlight(lines[currentLine].getColour());
+                        if (circleHover >= 0) station.highlight(world.getLines()[circleHover].getColour());
+                        else station.highlight(world.getLines()[currentLine].getColour());
                     }
 
                     if (station.isConnected()) station.draw();
@@ -415,18 +457,18 @@ public class Main {
                 for (int i = 0; i < 7; i++) {
                     double size;
 
-                    if (lines[i] != null) {
-                        g2D.setColor(lines[i].getColour());
+                    if (world.getLines()[i] != null) {
+                        g2D.setColor(world.getLines()[i].getColour());
 
                         if (i == currentLine) {
-                            if (!lines[i].getStations().isEmpty()) size = gridSize * 2.5;
+                            if (!world.getLines()[i].getStations().isEmpty()) size = gridSize * 2.5;
                             else size = gridSize * 1.6;
                         } else {
-                            if (!lines[i].getStations().isEmpty()) size = gridSize * 2.1;
+                            if (!world.getLines()[i].getStations().isEmpty()) size = gridSize * 2.1;
                             else size = gridSize * 1.3;
                         }
                     } else {
-                        g2D.setColor(map.getColours()[12]);
+                        g2D.setColor(world.getMap().getColours()[12]);
                         size = gridSize * 1.3;
                     }
 
@@ -445,70 +487,48 @@ public class Main {
                         case 1 -> icon = carriageIcon;
                         case 2 -> icon = interchangeIcon;
                         case 3 -> {
-                            if (map.getWaterTravelType()) icon = tunnelIcon;
+                            if (world.getMap().getWaterTravelType()) icon = tunnelIcon;
                             else icon = bridgeIcon;
                         }
                     }
                     ImageUtilities.drawImage(icon, xPosition, yPosition);
 
                     g2D.setColor(Color.BLACK); g2D.setFont(robotoMonoRegular24);
-                    g2D.drawString(String.valueOf(resources[i]), (int) (xPosition + size), (int) (yPosition + gridSize / 4));
+                    g2D.drawString(RenderCache.getNumber(world.getResources()[i]), (int) (xPosition + size), (int) (yPosition + gridSize / 4));
                 }
 
                 // clock & day of week
-                if (ticks % 1440 > 720) g2D.setColor(Color.BLACK);
+                if (world.getTicks() % 1440 > 720) g2D.setColor(Color.BLACK);
                 else g2D.setColor(Color.WHITE);
                 g2D.fillOval((int) (mainFrame.getWidth() - gridSize * 4.5), (int) (gridSize * 1.5), (int) (gridSize * 3), (int) (gridSize * 3));
-                if (ticks % 1440 > 720) g2D.setColor(Color.WHITE);
+                if (world.getTicks() % 1440 > 720) g2D.setColor(Color.WHITE);
                 else g2D.setColor(Color.BLACK);
                 for (int i = 0; i < 12; i++) {
                     if (i % 3 == 0) {
-                        g2D.setStroke(new BasicStroke((float) (gridSize / 9.6), BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+                        g2D.setStroke(RenderCache.getStroke(gridSize / 9.6, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
                         g2D.drawLine((int) (mainFrame.getWidth() - gridSize * 3 + (gridSize * 0.85) * Math.cos(Math.toRadians(30 * i))), (int) (gridSize * 3 + (gridSize * 0.85) * Math.sin(Math.toRadians(30 * i))), (int) (mainFrame.getWidth() - gridSize * 3 + (gridSize * 1.25) * Math.cos(Math.toRadians(30 * i))), (int) (gridSize * 3 + (gridSize * 1.25) * Math.sin(Math.toRadians(30 * i))));
                     } else {
-                        g2D.setStroke(new BasicStroke((float) (gridSize / 16), BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+                        g2D.setStroke(RenderCache.getStroke(gridSize / 16, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
                         g2D.drawLine((int) (mainFrame.getWidth() - gridSize * 3 + (gridSize * 0.9) * Math.cos(Math.toRadians(30 * i))), (int) (gridSize * 3 + (gridSize * 0.9) * Math.sin(Math.toRadians(30 * i))), (int) (mainFrame.getWidth() - gridSize * 3 + (gridSize * 1.25) * Math.cos(Math.toRadians(30 * i))), (int) (gridSize * 3 + (gridSize * 1.25) * Math.sin(Math.toRadians(30 * i))));
                     }
                 }
-                g2D.setStroke(new BasicStroke((float) (gridSize / 6), BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
-                GeneralPath clockHand = new GeneralPath();
-                clockHand.moveTo(mainFrame.getWidth() - gridSize * 3, gridSize * 3);
-                clockHand.lineTo(mainFrame.getWidth() - gridSize * 3 + (gridSize * 0.7) * Math.cos(Math.toRadians(ticks / 2.0 - 90)), gridSize * 3 + (gridSize * 0.7) * Math.sin(Math.toRadians(ticks / 2.0 - 90)));
+                g2D.setStroke(RenderCache.getStroke(gridSize / 6, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+                clockHand.setLine(mainFrame.getWidth() - gridSize * 3, gridSize * 3, mainFrame.getWidth() - gridSize * 3 + (gridSize * 0.7) * Math.cos(Math.toRadians(world.getTicks() / 2.0 - 90)), gridSize * 3 + (gridSize * 0.7) * Math.sin(Math.toRadians(world.getTicks() / 2.0 - 90)));
                 g2D.draw(clockHand);
                 g2D.setColor(Color.BLACK);
-                g2D.drawString(days[((int) (ticks / 1440)) % 7], (float) (mainFrame.getWidth() - gridSize * 7), (float) (gridSize * 3.5));
-
-                // end of week, upgrades!
-                if (ticks - lastWeekTick == 10080) {
-                    lastWeekTick = ticks;
-                    // find the first locked line and unlock it
-                    for (int i = 0; i < 7; i++) {
-                        if (lines[i] == null) {
-                            lines[i] = new MetroLine(map.getColours()[i]);
-                            break;
-                        }
-                    }
-                }
+                g2D.drawString(days[((int) (world.getTicks() / 1440)) % 7], (float) (mainFrame.getWidth() - gridSize * 7), (float) (gridSize * 3.5));
 
                 // points (includes person icon)
-                if (points > 0) {
-                    g2D.drawString(String.valueOf(points), (float) (mainFrame.getWidth() - gridSize * 11), (float) (gridSize * 3.5));
+                if (world.getPoints() > 0) {
+                    g2D.drawString(getPointsText(world.getPoints()), (float) (mainFrame.getWidth() - gridSize * 11), (float) (gridSize * 3.5));
                     ImageUtilities.drawImage(person, (int) (mainFrame.getWidth() - gridSize * 13.25), (int) (gridSize * 1.75));
                 }
 
                 // back arrow
-                g2D.setColor(map.getColours()[12]); g2D.setStroke(new BasicStroke((float) (gridSize / 2), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g2D.setColor(world.getMap().getColours()[12]); g2D.setStroke(RenderCache.getStroke(gridSize / 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 7), (int) (gridSize * 3));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 2));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 4));
-
-                // check for game over
-                for (Station station : stations) {
-                    if (station.getPassengers().size() >= 6) {
-                        screenState = Screen.GAME_OVER;
-                        break;
-                    }
-                }
             }
 
             if (screenState == Screen.GAME_OVER) {
@@ -517,7 +537,7 @@ public class Main {
                 g2D.fillRect(0, 0, this.getWidth(), this.getHeight());
 
                 // back arrow
-                g2D.setColor(Colour.GREY_30); g2D.setStroke(new BasicStroke((float) (gridSize / 2), BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+                g2D.setColor(Colour.GREY_30); g2D.setStroke(RenderCache.getStroke(gridSize / 2, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 7), (int) (gridSize * 3));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 2));
                 g2D.drawLine((int) (gridSize * 3), (int) (gridSize * 3), (int) (gridSize * 4), (int) (gridSize * 4));
@@ -530,13 +550,13 @@ public class Main {
                 g2D.drawString("One of your stations overcrowded, prompting the closure of your transit system.", (int) (gridSize * 5), (int) (gridSize * 11));
 
                 g2D.setColor(Color.WHITE);
-                if (points == 1) g2D.drawString("You had 1 point.", (int) (gridSize * 5), (int) (gridSize * 14));
-                else g2D.drawString(String.format("You had %d points.", points), (int) (gridSize * 5), (int) (gridSize * 14));
+                if (world.getPoints() == 1) g2D.drawString("You had 1 point.", (int) (gridSize * 5), (int) (gridSize * 14));
+                else g2D.drawString(getGameOverText(world.getPoints()), (int) (gridSize * 5), (int) (gridSize * 14));
             }
 
             if (controlHeld) {
                 // grid
-                g2D.setStroke(new BasicStroke(1)); g2D.setColor(Colour.LIGHT_VIOLET_MAGENTA);
+                g2D.setStroke(RenderCache.getStroke(1, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER)); g2D.setColor(Colour.LIGHT_VIOLET_MAGENTA);
                 for (int i = 0; i < 80; i++) g2D.drawLine((int) (i * gridSize), 0, (int) (i * gridSize), getHeight());
                 for (int i = 0; i < 45; i++) g2D.drawLine(0, (int) (i * gridSize), getWidth(), (int) (i * gridSize));
             }
@@ -607,34 +627,36 @@ public class Main {
                     if (gridX >= 3 && gridX < 7 && gridY >= 2 && gridY < 4) screenState = Screen.LEVEL_SELECT;
 
                     // add/remove station to/from line
-                    for (Station station : stations) {
-                        // clicked on a station?
-                        if (station.getGridX() == gridX && station.getGridY() == gridY) {
-                            // station is not already on the line
-                            if (!lines[currentLine].getStations().contains(station)) {
-                                // if adding to the beginning, set diagonal of FIRST station (which will become the NEXT station)
-                                if (sHeld && !lines[currentLine].getStations().isEmpty()) lines[currentLine].getStations().getFirst().setDiagonal(lines[currentLine], !dHeld);
-                                station.setDiagonal(lines[currentLine], dHeld); // current station (always set for connection display purposes)
-
-                                lines[currentLine].addStation(station, sHeld); // add the station
-                            } else {
-                                // you can always remove stations if doing so would make the line invisible
-                                if (lines[currentLine].getStations().size() <= 2) lines[currentLine].removeStation(station);
-
-                                // make sure the station is not being used by a train!
-                                for (Train train : lines[currentLine].getTrains()) {
-                                    if (!(station == train.getFromStation() || station == train.getToStation())) lines[currentLine].removeStation(station);
-                                }
-                            }
+                    MetroLine line = world.getLines()[currentLine];
+                    Station station = world.getStationAt(gridX, gridY);
+
+                    // clicked on a station?
+                    if (station != null) {
+                        // station is not already on the line
+                        if (!line.contains(station)) {
+                            // if adding to the beginning, set diagonal of FIRST station (which will become the NEXT station)
+                            if (sHeld && !line.getStations().isEmpty()) line.getStations().getFirst().setDiagonal(line, !dHeld);
+                            station.setDiagonal(line, dHeld); // current station (always set for connection display purposes)
+
+                            line.addStation(station, sHeld); // add the station
+                        } else {
+                            // you can always remove stations if doing so would make the line invisible, otherwise make sure the station is not being used by a train!
+                            if (line.getStations().size() <= 2 || !isInUse(line, station)) line.removeStation(station);
                         }
                     }
 
+                    // locomotive icon: put another train on the current line
+                    if (gridX >= 2 && gridX < 5 && gridY >= 41 && gridY < 43) line.addLocomotive();
+
+                    // carriage icon: attach a carriage to the current line's train
+                    if (gridX >= 6 && gridX < 9 && gridY >= 41 && gridY < 43) line.addCarriage();
+
                     // line selection
                     for (int i = 0; i < 7; i++) {
                         for (int j = 0; j < 2; j++) {
                             for (int k = 0; k < 2; k++) {
                                 if (i * 3 + 58 + j == gridX && k + 41 == gridY) {
-                                    if (lines[i] != null) currentLine = i;
+                                    if (world.getLines()[i] != null) currentLine = i;
                                     break;
                                 }
                             }
@@ -650,17 +672,13 @@ public class Main {
             if (e.getButton() == 3) {
                 if (screenState == Screen.GAME) {
                     // change diagonal state
-                    for (Station station : stations) {
-                        // clicked on a station?
-                        if (station.getGridX() == gridX && station.getGridY() == gridY) {
-                            // station is on current line
-                            if (lines[currentLine].getStations().contains(station)) {
-                                // make sure segment is not in use...
-                                for (Train train : lines[currentLine].getTrains()) {
-                                    if (!(station == train.getFromStation() || station == train.getToStation())) station.setDiagonal(lines[currentLine], !station.isDiagonal(lines[currentLine]));
-                                }
-                            }
-                        }
+                    MetroLine line = world.getLines()[currentLine];
+                    Station station = world.getStationAt(gridX, gridY);
+
+                    // clicked on a station on the current line?
+                    if (station != null && line.contains(station)) {
+                        // make sure segment is not in use...
+                        if (!isInUse(line, station)) station.setDiagonal(line, !station.isDiagonal(line));
                     }
                 }
             }
@@ -683,7 +701,7 @@ public class Main {
                 int lastUnlockedLineIndex = -1;
 
                 for (int i = 0; i < 7; i++) {
-                    if (lines[i] != null) lastUnlockedLineIndex++;
+                    if (world.getLines()[i] != null) lastUnlockedLineIndex++;
                 }
 
                 // scroll through lines
@@ -761,7 +779,7 @@ public class Main {
 
                 // line selection
                 if (e.getKeyCode() >= KeyEvent.VK_1 && e.getKeyCode() <= KeyEvent.VK_7) {
-                    if (lines[e.getKeyCode() - KeyEvent.VK_1] != null) {
+                    if (world.getLines()[e.getKeyCode() - KeyEvent.VK_1] != null) {
                         currentLine = e.getKeyCode() - KeyEvent.VK_1;
                         circleHover = currentLine;
                         checkStationHover();
@@ -774,15 +792,16 @@ public class Main {
                     else tickRate = regularTickRate;
                 }
 
-                // speed up
+                // speed up (1x, 2x, 4x, ... 64x)
                 if (e.getKeyCode() == KeyEvent.VK_UP) {
-                    if (tickRate < 2) tickRate++;
+                    if (tickRate == 0) tickRate = 1;
+                    else if (tickRate < MAX_TICK_RATE) tickRate *= 2;
                     regularTickRate = tickRate;
                 }
 
-                // slow down
+                // slow down (down to paused)
                 if (e.getKeyCode() == KeyEvent.VK_DOWN) {
-                    if (tickRate > 0) tickRate--;
+                    tickRate /= 2;
                     if (tickRate != 0) regularTickRate = tickRate;
                 }
             } else if (screenState == Screen.GAME_OVER) {
@@ -7,20 +7,55 @@
 
 package objects;
 
+import enums.Direction;
+
 /**
- * Secondary train class, unfinished and unimplemented.
+ * Secondary train class. A carriage has no movement of its own: it is wherever its locomotive was a fixed number of moves ago.
  */
-public class Carriage extends Train {
+public class Carriage {
     private Locomotive locomotive;
+    private int car; // 1 for the first carriage behind the locomotive
+    private int movesBehind; // how far back along the locomotive's path this carriage is
 
     /**
-     * Carriage constructor.
-     * @param line The line that the carriage is to be on.
+     * Carriage constructor; attaches the carriage to the back of the locomotive.
      * @param locomotive The locomotive to attach to.
      */
-    public Carriage(MetroLine line, Locomotive locomotive) {
-        super(line);
+    public Carriage(Locomotive locomotive) {
         this.locomotive = locomotive;
+        this.car = locomotive.getCarriages().size() + 1;
+        this.movesBehind = this.car * getSpacing(locomotive);
+        locomotive.attach(this);
+    }
+
+    /**
+     * Get how many moves it takes a train to travel its own length plus a small gap.
+     * @param locomotive The locomotive.
+     * @return The number of moves between neighbouring cars.
+     */
+    static int getSpacing(Locomotive locomotive) {
+        return (int) Math.ceil(locomotive.TRAIN_SIZE_STRAIGHT * 1.25 / locomotive.SPEED);
+    }
+
+    /**
+     * Get the locomotive that the carriage follows.
+     * @return The carriage's locomotive.
+     */
+    public Locomotive getLocomotive() {
+        return this.locomotive;
+    }
+
+    /**
+     * Draw the carriage and its passengers where the locomotive was.
+     */
+    public void draw() {
+        PathHistory history = this.locomotive.getHistory();
+        Direction direction = history.getDirection(this.movesBehind);
+
+        // the locomotive has not come this far yet
+        if (direction == null) return;
+
+        this.locomotive.drawCar(history.getX(this.movesBehind), history.getY(this.movesBehind), direction, this.car);
     }
 
 }
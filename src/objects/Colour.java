@@ -7,6 +7,8 @@
 
 package objects;
 
+import utilities.RenderCache;
+
 import java.awt.*;
 
 /**
@@ -73,10 +75,10 @@ public class Colour {
      * Get a colour at a different opacity.
      * @param colour The colour.
      * @param opacity The alpha value to set the opacity to, between 0 and 255.
-     * @return The new colour.
+     * @return The colour at that opacity, shared with every other caller that asks for it.
      */
     public static Color atOpacity(Color colour, int opacity) {
-        return (new Color(colour.getRed(), colour.getGreen(), colour.getBlue(), opacity));
+        return RenderCache.getColour(colour, opacity);
     }
 
 }
@@ -0,0 +1,114 @@
+/*
+ * TITLE: CrowdingTracker
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Keeps track of how crowded a game's stations are.
+ */
+
+package objects;
+
+import java.util.Arrays;
+
+/**
+ * Every station with waiting passengers, grouped by how many are waiting, updated whenever a station's queue changes.
+ * Finding the most crowded station and counting stations close to overcrowding never needs a scan.
+ */
+public class CrowdingTracker {
+
+    // a station with this many passengers waiting ends the game
+    public static final int OVERCROWDED = 6;
+    // stations with this many waiting are close to overcrowding
+    public static final int AT_RISK = OVERCROWDED - 2;
+
+    private int[] sizes; // by station id
+    private int[] next, previous; // each group is a doubly linked list of station ids, -1 at the ends
+    private int[] heads; // first station of each group, by passenger count, -1 if empty
+    private int maxSize;
+    private int atRiskCount;
+
+    /**
+     * CrowdingTracker constructor; every station starts empty.
+     */
+    public CrowdingTracker() {
+        this.sizes = new int[64];
+        this.next = new int[64];
+        this.previous = new int[64];
+        this.heads = new int[OVERCROWDED * 2];
+        Arrays.fill(this.heads, -1);
+    }
+
+    /**
+     * A station's number of waiting passengers has changed.
+     * @param id The station's id.
+     * @param size How many passengers are waiting there now.
+     */
+    void update(int id, int size) {
+        if (id >= this.sizes.length) {
+            int length = Math.max(this.sizes.length * 2, id + 1);
+            this.sizes = Arrays.copyOf(this.sizes, length);
+            this.next = Arrays.copyOf(this.next, length);
+            this.previous = Arrays.copyOf(this.previous, length);
+        }
+        if (size >= this.heads.length) {
+            int length = this.heads.length;
+            this.heads = Arrays.copyOf(this.heads, Math.max(length * 2, size + 1));
+            Arrays.fill(this.heads, length, this.heads.length, -1);
+        }
+
+        int oldSize = this.sizes[id];
+        if (oldSize == size) return;
+
+        // move the station from its old group to its new one (empty stations are in no group)
+        if (oldSize > 0) {
+            if (this.previous[id] >= 0) this.next[this.previous[id]] = this.next[id];
+            else this.heads[oldSize] = this.next[id];
+            if (this.next[id] >= 0) this.previous[this.next[id]] = this.previous[id];
+        }
+        if (size > 0) {
+            this.next[id] = this.heads[size];
+            this.previous[id] = -1;
+            if (this.heads[size] >= 0) this.previous[this.heads[size]] = id;
+            this.heads[size] = id;
+        }
+        this.sizes[id] = size;
+
+        if (oldSize < AT_RISK && size >= AT_RISK) this.atRiskCount++;
+        else if (oldSize >= AT_RISK && size < AT_RISK) this.atRiskCount--;
+
+        if (size > this.maxSize) this.maxSize = size;
+        while (this.maxSize > 0 && this.heads[this.maxSize] < 0) this.maxSize--;
+    }
+
+    /**
+     * Get the most passengers waiting at any one station.
+     * @return The size of the longest queue.
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * Get the most crowded station.
+     * @return The station's id, -1 if nobody is waiting anywhere.
+     */
+    public int getMostCrowded() {
+        return this.maxSize > 0 ? this.heads[this.maxSize] : -1;
+    }
+
+    /**
+     * Get the number of stations close to overcrowding.
+     * @return The number of stations with at least AT_RISK passengers waiting.
+     */
+    public int getAtRiskCount() {
+        return this.atRiskCount;
+    }
+
+    /**
+     * Determine whether a station has overcrowded.
+     * @return True if any station has OVERCROWDED or more passengers waiting.
+     */
+    public boolean isOvercrowded() {
+        return this.maxSize >= OVERCROWDED;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * TITLE: HeadwayController
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Keeps a line's trains evenly spaced.
+ */
+
+package objects;
+
+import java.util.Arrays;
+
+/**
+ * Spaces out the trains of a line by holding a train at a station if the train in front left it too recently.
+ * Departures are booked as soon as they are decided, so two trains waiting at the same station never leave together.
+ */
+public class HeadwayController {
+
+    // trains are held until at least this fraction of the even spacing has passed since the one in front left
+    public static final double MINIMUM_HEADWAY = 0.5;
+
+    private static final int NEVER = Integer.MIN_VALUE / 2;
+
+    private final MetroLine line;
+    private int[] departures; // latest booked departure, by station id * 2 + 1 if forwards
+
+    /**
+     * HeadwayController constructor.
+     * @param line The line whose trains are to be spaced out.
+     */
+    HeadwayController(MetroLine line) {
+        this.line = line;
+        this.departures = new int[64];
+        Arrays.fill(this.departures, NEVER);
+    }
+
+    /**
+     * Decide when a train leaves a station and book that departure.
+     * @param train The train.
+     * @param station The station it is at.
+     * @param forward True if it leaves towards the end of the line.
+     * @param earliest The soonest tick it could leave, once passengers are on and off.
+     * @return The tick it leaves; later than earliest if it is held to keep its distance.
+     */
+    int bookDeparture(Train train, Station station, boolean forward, int earliest) {
+        int index = station.getId() * 2 + (forward ? 1 : 0);
+        if (index >= this.departures.length) {
+            int length = this.departures.length;
+            this.departures = Arrays.copyOf(this.departures, Math.max(length * 2, index + 1));
+            Arrays.fill(this.departures, length, this.departures.length, NEVER);
+        }
+
+        // even spacing is one round trip shared between the trains
+        int trains = this.line.getTrains().size();
+        int departure = earliest;
+        if (trains > 1) {
+            double roundTrip = 2 * this.line.getLength() / train.SPEED + 2 * train.WAIT_TIME;
+            departure = Math.max(departure, this.departures[index] + (int) (roundTrip / trains * MINIMUM_HEADWAY));
+        }
+
+        this.departures[index] = departure;
+        return departure;
+    }
+
+}
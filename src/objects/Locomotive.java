@@ -7,10 +7,14 @@
 
 package objects;
 
+import java.util.ArrayList;
+
 /**
- * Primary train class.
+ * Primary train class. Pulls any carriages attached to it, which follow the path it has taken.
  */
 public class Locomotive extends Train {
+    private final ArrayList<Carriage> carriages;
+    private PathHistory history; // null until the first carriage is attached
 
     /**
      * Locomotive constructor.
@@ -18,6 +22,78 @@ public class Locomotive extends Train {
      */
     public Locomotive(MetroLine line) {
         super(line);
+        this.carriages = new ArrayList<Carriage>();
+    }
+
+    /**
+     * Attach a carriage to the back of the train.
+     * @param carriage The carriage.
+     */
+    void attach(Carriage carriage) {
+        this.carriages.add(carriage);
+
+        // remember far enough back for the last carriage
+        int length = this.carriages.size() * Carriage.getSpacing(this);
+        if (this.history == null) this.history = new PathHistory(length, getX(), getY(), getDirection());
+        else this.history.ensureLength(length);
+    }
+
+    /**
+     * Get the carriages attached to the train.
+     * @return The carriages, in order from the front.
+     */
+    public ArrayList<Carriage> getCarriages() {
+        return this.carriages;
+    }
+
+    /**
+     * Get the path the train has taken.
+     * @return The train's recent moves, null if it has no carriages.
+     */
+    PathHistory getHistory() {
+        return this.history;
+    }
+
+    /**
+     * Get the most passengers the train can carry; each carriage carries as many as the locomotive.
+     * @return The train's capacity.
+     */
+    @Override
+    public int getCapacity() {
+        return CAPACITY * (1 + this.carriages.size());
+    }
+
+    /**
+     * Remember every move for the carriages to follow.
+     */
+    @Override
+    protected void moved() {
+        if (this.history != null) this.history.add(getX(), getY(), getDirection());
+    }
+
+    /**
+     * Jump the train forwards by several moves at once; only the moves the carriages can still see are made one at a time.
+     * @param moves How many moves to make; no more than getMovesToArrival(), so that no station is passed.
+     */
+    @Override
+    public void skip(int moves) {
+        if (this.history == null) {
+            super.skip(moves);
+            return;
+        }
+
+        int recorded = Math.min(moves, this.history.getCapacity());
+        if (moves > recorded) super.skip(moves - recorded);
+        for (int i = 0; i < recorded; i++) super.skip(1);
+    }
+
+    /**
+     * Draw the carriages, then the train itself on top.
+     */
+    @Override
+    public void draw() {
+        for (Carriage carriage : this.carriages) carriage.draw();
+        super.draw();
     }
 
 }
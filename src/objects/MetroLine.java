@@ -8,19 +8,34 @@
 package objects;
 
 import enums.Direction;
+import main.GameWorld;
 import main.Main;
+import utilities.RenderCache;
 
 import java.awt.*;
 import java.awt.geom.GeneralPath;
+import java.awt.geom.Path2D;
 import java.util.ArrayList;
+import java.util.BitSet;
 
 /**
  * An object representing a line of a subway system.
  */
 public class MetroLine {
+    private final GameWorld world;
+    private final int id;
     private ArrayList<Station> stations;
+    private final BitSet members; // ids of the stations on the line
     private ArrayList<Train> trains;
+    private final HeadwayController headway;
     private Color colour;
+    private ArrayList<Segment> segments; // null when the layout has changed
+    private double length; // of all the segments together
+    private Path2D path; // every segment, joined up
+    private GeneralPath endCaps;
+    private int[] shapesForward, shapesBackward; // bitmasks of the shapes from each stop to the end and to the start
+    private int geometryVersion;
+    private int stopsVersion;
 
     public final int CURVE_OFFSET;
     public final int LINE_OFFSET;
@@ -28,33 +43,71 @@ public class MetroLine {
 
     /**
      * MetroLine constructor, empty stations list.
+     * @param world The game the line belongs to.
+     * @param id The line's number, from 0 to 6.
      * @param colour The colour of the line (for drawing).
      */
-    public MetroLine(Color colour) {
+    public MetroLine(GameWorld world, int id, Color colour) {
+        this.world = world;
+        this.id = id;
         this.stations = new ArrayList<Station>();
+        this.members = new BitSet();
         this.trains = new ArrayList<Train>();
+        this.headway = new HeadwayController(this);
         this.colour = colour;
-        this.CURVE_OFFSET = Main.mainFrame.getWidth() / 384;
-        this.LINE_OFFSET = Main.mainFrame.getWidth() / 160;
+        this.CURVE_OFFSET = Main.windowWidth / 384;
+        this.LINE_OFFSET = Main.windowWidth / 160;
         this.END_OFFSET = this.CURVE_OFFSET * 5;
 
-        Main.resources[0]++; // +1 train!
+        this.world.getResources()[0]++; // +1 train!
     }
 
     /**
      * MetroLine constructor.
+     * @param world The game the line belongs to.
+     * @param id The line's number, from 0 to 6.
      * @param stations List of stations on the line.
      * @param colour The colour of the line (for drawing).
      */
-    public MetroLine(ArrayList<Station> stations, Color colour) {
+    public MetroLine(GameWorld world, int id, ArrayList<Station> stations, Color colour) {
+        this.world = world;
+        this.id = id;
         this.stations = stations;
+        this.members = new BitSet();
+        for (Station station : stations) this.members.set(station.getId());
         this.trains = new ArrayList<Train>();
+        this.headway = new HeadwayController(this);
         this.colour = colour;
-        this.CURVE_OFFSET = Main.mainFrame.getWidth() / 384;
-        this.LINE_OFFSET = Main.mainFrame.getWidth() / 160;
+        this.CURVE_OFFSET = Main.windowWidth / 384;
+        this.LINE_OFFSET = Main.windowWidth / 160;
         this.END_OFFSET = this.CURVE_OFFSET * 5;
 
-        Main.resources[0]++; // +1 train!
+        this.world.getResources()[0]++; // +1 train!
+    }
+
+    /**
+     * Get the game the line belongs to.
+     * @return The line's world.
+     */
+    public GameWorld getWorld() {
+        return this.world;
+    }
+
+    /**
+     * Get the line's id.
+     * @return The line's number, from 0 to 6.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Determine whether a station is on the line.
+     * @param station The station.
+     * @return True if the station is one of the line's stops.
+     */
+    public boolean contains(Station station) {
+        return this.members.get(station.getId());
     }
 
     /**
@@ -71,6 +124,9 @@ public class MetroLine {
      */
     public void setStations(ArrayList<Station> stations) {
         this.stations = stations;
+        this.members.clear();
+        for (Station station : stations) this.members.set(station.getId());
+        invalidateStops();
     }
 
     /**
@@ -81,11 +137,11 @@ public class MetroLine {
     public void addStation(Station station, boolean end) {
         if (end) this.stations.addFirst(station);
         else this.stations.add(station);
+        this.members.set(station.getId());
+        invalidateStops();
 
-        if (this.stations.size() == 2) {
-            this.trains.add(new Locomotive(this)); // if there is at least one line segment, get a train moving across it
-            Main.resources[0]--; // use a train
-        }
+        // if there is at least one line segment, get a train moving across it; the world keeps one in stock for every line without one
+        if (this.stations.size() == 2 && this.trains.isEmpty() && this.world.getResources()[0] > 0) placeLocomotive();
     }
 
     /**
@@ -94,14 +150,59 @@ public class MetroLine {
      */
     public void removeStation(Station station) {
         this.stations.remove(station);
+        this.members.clear(station.getId());
         station.disconnect(this);
+        invalidateStops();
 
         if (this.stations.size() == 1) {
+            for (Train train : this.trains) {
+                if (train instanceof Locomotive locomotive) this.world.getResources()[1] += locomotive.getCarriages().size(); // regain its carriages
+            }
+            this.world.getResources()[0] += this.trains.size(); // regain the trains
             this.trains.clear(); // too few stations for train travel
-            Main.resources[0]++; // regain a train
         }
     }
 
+    /**
+     * Put another train from the inventory on the line, starting from the first station.
+     * @return True if there was a spare train and somewhere for it to go.
+     */
+    public boolean addLocomotive() {
+        // the trains kept for lines with none cannot be added to this one
+        if (this.world.getSpareTrains() <= 0 || this.stations.size() < 2) return false;
+
+        placeLocomotive();
+        return true;
+    }
+
+    /**
+     * Take a train from the inventory and start it from the first station, as soon as the headway allows.
+     */
+    private void placeLocomotive() {
+        Locomotive locomotive = new Locomotive(this);
+        this.trains.add(locomotive);
+        this.world.getResources()[0]--; // use a train
+        locomotive.bookFirstDeparture();
+    }
+
+    /**
+     * Attach a carriage from the inventory to the line's train with the fewest carriages.
+     * @return True if there was a carriage and a train to attach it to.
+     */
+    public boolean addCarriage() {
+        if (this.world.getResources()[1] <= 0) return false;
+
+        Locomotive shortest = null;
+        for (Train train : this.trains) {
+            if (train instanceof Locomotive locomotive && (shortest == null || locomotive.getCarriages().size() < shortest.getCarriages().size())) shortest = locomotive;
+        }
+        if (shortest == null) return false;
+
+        new Carriage(shortest);
+        this.world.getResources()[1]--; // use a carriage
+        return true;
+    }
+
     /**
      * Get the line's colour.
      * @return The line's current colour.
@@ -127,347 +228,185 @@ public class MetroLine {
     }
 
     /**
-     * Draw the line as a coloured line, modified from TransitMapMaker.
+     * Get the controller that keeps the line's trains spaced out.
+     * @return The line's headway controller.
      */
-    public void draw() {
-        // for each station (starting from the second) connect it to previous with one or two line segments
-        for (int i = 1; i < this.stations.size(); i++) {
-            // the two directions
-            Direction firstDirection, secondDirection;
-
-            // current station values
-            int fromX = (int) this.stations.get(i - 1).getX();
-            int fromY = (int) this.stations.get(i - 1).getY();
-            int toX = (int) this.stations.get(i).getX();
-            int toY = (int) this.stations.get(i).getY();
-            boolean diagonal = this.stations.get(i).isDiagonal(this);
-
-            // calculations
-            int xDiff = toX - fromX;
-            int yDiff = toY - fromY;
-            int xDiff2 = Math.abs(toX - fromX);
-            int yDiff2 = Math.abs(toY - fromY);
-            boolean xLonger = xDiff2 >= yDiff2;
-            int newX1, newY1, newX, newY, newX2, newY2;
-
-            // determine directions and where the two line segments should meet
-            if (!diagonal) {
-                if (xDiff >= 0) {
-                    // RIGHT
-                    if (yDiff >= 0) {
-                        // RIGHT-DOWN
-                        if (xLonger) {
-                            // RIGHT
-                            firstDirection = Direction.RIGHT;
-                            secondDirection = Direction.RIGHT_DOWN;
-
-                            newX = fromX + (xDiff2 - yDiff2);
-                            newY = fromY;
-
-                            newX1 = (int) (newX - (CURVE_OFFSET * Math.sqrt(2)));
-                            newY1 = newY;
-                        } else {
-                            // DOWN
-                            firstDirection = Direction.DOWN;
-                            secondDirection = Direction.RIGHT_DOWN;
-
-                            newX = fromX;
-                            newY = fromY + (yDiff2 - xDiff2);
-
-                            newX1 = newX;
-                            newY1 = (int) (newY - (CURVE_OFFSET * Math.sqrt(2)));
-                        }
-                        newX2 = newX + this.CURVE_OFFSET;
-                        newY2 = newY + this.CURVE_OFFSET;
-                    } else {
-                        // RIGHT-UP
-                        if (xLonger) {
-                            // RIGHT
-                            firstDirection = Direction.RIGHT;
-                            secondDirection = Direction.RIGHT_UP;
-
-                            newX = fromX + (xDiff2 - yDiff2);
-                            newY = fromY;
-
-                            newX1 = (int) (newX - (CURVE_OFFSET * Math.sqrt(2)));
-                            newY1 = newY;
-                        } else {
-                            // UP
-                            firstDirection = Direction.UP;
-                            secondDirection = Direction.RIGHT_UP;
-
-                            newX = fromX;
-                            newY = fromY - (yDiff2 - xDiff2);
-
-                            newX1 = newX;
-                            newY1 = (int) (newY + (CURVE_OFFSET * Math.sqrt(2)));
-                        }
-                        newX2 = newX + this.CURVE_OFFSET;
-                        newY2 = newY - this.CURVE_OFFSET;
-                    }
-                } else {
-                    // LEFT
-                    if (yDiff >= 0) {
-                        // LEFT-DOWN
-                        if (xLonger) {
-                            // LEFT
-                            firstDirection = Direction.LEFT;
-                            secondDirection = Direction.LEFT_DOWN;
-
-                            newX = fromX - (xDiff2 - yDiff2);
-                            newY = fromY;
-
-                            newX1 = (int) (newX + (CURVE_OFFSET * Math.sqrt(2)));
-                            newY1 = newY;
-                        } else {
-                            // DOWN
-                            firstDirection = Direction.DOWN;
-                            secondDirection = Direction.LEFT_DOWN;
-
-                            newX = fromX;
-                            newY = fromY + (yDiff2 - xDiff2);
-
-                            newX1 = newX;
-                            newY1 = (int) (newY - (CURVE_OFFSET * Math.sqrt(2)));
-                        }
-                        newX2 = newX - this.CURVE_OFFSET;
-                        newY2 = newY + this.CURVE_OFFSET;
-                    } else {
-                        // LEFT-UP
-                        if (xLonger) {
-                            // LEFT
-                            firstDirection = Direction.LEFT;
-                            secondDirection = Direction.LEFT_UP;
-
-                            newX = fromX - (xDiff2 - yDiff2);
-                            newY = fromY;
-
-                            newX1 = (int) (newX + (CURVE_OFFSET * Math.sqrt(2)));
-                            newY1 = newY;
-                        } else {
-                            // UP
-                            firstDirection = Direction.UP;
-                            secondDirection = Direction.LEFT_UP;
-
-                            newX = fromX;
-                            newY = fromY - (yDiff2 - xDiff2);
-
-                            newX1 = newX;
-                            newY1 = (int) (newY + (CURVE_OFFSET * Math.sqrt(2)));
-                        }
-                        newX2 = newX - this.CURVE_OFFSET;
-                        newY2 = newY - this.CURVE_OFFSET;
-                    }
-                }
-            } else {
-                int distance = Math.min(xDiff2, yDiff2);
-
-                if (xDiff >= 0) {
-                    newX = fromX + distance;
-                    newX1 = fromX + (distance - this.CURVE_OFFSET);
-                } else {
-                    newX = fromX - distance;
-                    newX1 = fromX - (distance - this.CURVE_OFFSET);
-                }
-
-                if (yDiff >= 0) {
-                    newY = fromY + distance;
-                    newY1 = fromY + (distance - this.CURVE_OFFSET);
-                } else {
-                    newY = fromY - distance;
-                    newY1 = fromY - (distance - this.CURVE_OFFSET);
-                }
-
-                if (xDiff >= 0) {
-                    // RIGHT
-                    if (yDiff >= 0) {
-                        // RIGHT-DOWN
-                        if (xLonger) {
-                            // RIGHT
-                            firstDirection = Direction.RIGHT_DOWN;
-                            secondDirection = Direction.RIGHT;
-
-                            newX2 = (int) (newX + this.CURVE_OFFSET * Math.sqrt(2));
-                            newY2 = newY;
-                        } else {
-                            // DOWN
-                            firstDirection = Direction.RIGHT_DOWN;
-                            secondDirection = Direction.DOWN;
-
-                            newX2 = newX;
-                            newY2 = (int) (newY + this.CURVE_OFFSET * Math.sqrt(2));
-                        }
-                    } else {
-                        // RIGHT-UP
-                        if (xLonger) {
-                            // RIGHT
-                            firstDirection = Direction.RIGHT_UP;
-                            secondDirection = Direction.RIGHT;
-
-                            newX2 = (int) (newX + this.CURVE_OFFSET * Math.sqrt(2));
-                            newY2 = newY;
-                        } else {
-                            // UP
-                            firstDirection = Direction.RIGHT_UP;
-                            secondDirection = Direction.UP;
-
-                            newX2 = newX;
-                            newY2 = (int) (newY - this.CURVE_OFFSET * Math.sqrt(2));
-                        }
-                    }
-                } else {
-                    // LEFT
-                    if (yDiff >= 0) {
-                        // LEFT-DOWN
-                        if (xLonger) {
-                            // LEFT
-                            firstDirection = Direction.LEFT_DOWN;
-                            secondDirection = Direction.LEFT;
-
-                            newX2 = (int) (newX - this.CURVE_OFFSET * Math.sqrt(2));
-                            newY2 = newY;
-                        } else {
-                            // DOWN
-                            firstDirection = Direction.LEFT_DOWN;
-                            secondDirection = Direction.DOWN;
-
-                            newX2 = newX;
-                            newY2 = (int) (newY + this.CURVE_OFFSET * Math.sqrt(2));
-                        }
-                    } else {
-                        // LEFT-UP
-                        if (xLonger) {
-                            // LEFT
-                            firstDirection = Direction.LEFT_UP;
-                            secondDirection = Direction.LEFT;
-
-                            newX2 = (int) (newX - this.CURVE_OFFSET * Math.sqrt(2));
-                            newY2 = newY;
-                        } else {
-                            // UP
-                            firstDirection = Direction.LEFT_UP;
-                            secondDirection = Direction.UP;
-
-                            newX2 = newX;
-                            newY2 = (int) (newY - this.CURVE_OFFSET * Math.sqrt(2));
-                        }
-                    }
-                }
-            }
+    public HeadwayController getHeadway() {
+        return this.headway;
+    }
+
+    /**
+     * The line's layout has changed, so its segments and reachable shapes need working out again.
+     */
+    public void invalidateGeometry() {
+        this.segments = null;
+        this.geometryVersion++;
+    }
+
+    /**
+     * The line's stops have changed, so passenger routes need working out again as well as its layout.
+     */
+    private void invalidateStops() {
+        invalidateGeometry();
+        this.stopsVersion++;
+        this.world.getRouter().invalidate(this);
+    }
+
+    /**
+     * Get a number that changes whenever the line's layout changes.
+     * @return The geometry version.
+     */
+    public int getGeometryVersion() {
+        return this.geometryVersion;
+    }
+
+    /**
+     * Get a number that changes whenever stations are added to or removed from the line.
+     * @return The stops version.
+     */
+    public int getStopsVersion() {
+        return this.stopsVersion;
+    }
+
+    /**
+     * Get the routes between neighbouring stations, working them out again if the line has changed.
+     * @return Segment i goes from station i to station i + 1.
+     */
+    public ArrayList<Segment> getSegments() {
+        if (this.segments == null) updateGeometry();
+        return this.segments;
+    }
 
+    /**
+     * Get the length of the line, from end to end.
+     * @return The length of all the segments, in pixels.
+     */
+    public double getLength() {
+        if (this.segments == null) updateGeometry();
+        return this.length;
+    }
+
+    /**
+     * Get the shapes a train can reach from a stop without turning around.
+     * @param index The stop's index along the line.
+     * @param forward True if travelling towards the end of the line.
+     * @return A bitmask of Shape ordinals, including the stop itself.
+     */
+    public int getShapesAhead(int index, boolean forward) {
+        if (this.segments == null) updateGeometry();
+        return forward ? this.shapesForward[index] : this.shapesBackward[index];
+    }
+
+    /**
+     * Work out everything that depends on the line's layout: segments, line ends and the shapes reachable from each stop.
+     */
+    private void updateGeometry() {
+        int size = this.stations.size();
+
+        this.segments = new ArrayList<Segment>(Math.max(size - 1, 0));
+        for (int i = 1; i < size; i++) {
+            // a segment's shape is set by the 'diagonal' of its later station
+            this.segments.add(new Segment(this.stations.get(i - 1), this.stations.get(i), this.stations.get(i).isDiagonal(this), this.CURVE_OFFSET, this.LINE_OFFSET));
+        }
+        this.length = 0;
+        for (Segment segment : this.segments) this.length += segment.getLength();
+
+        // the whole line as one path, so that it is stroked in one go
+        this.path = new Path2D.Float();
+        for (Segment segment : this.segments) {
             // make sure line segments are drawn from the centre of the stations
-            fromX += this.LINE_OFFSET; fromY += this.LINE_OFFSET;
-            newX1 += this.LINE_OFFSET; newY1 += this.LINE_OFFSET;
-            newX += this.LINE_OFFSET; newY += this.LINE_OFFSET;
-            newX2 += this.LINE_OFFSET; newY2 += this.LINE_OFFSET;
-            toX += this.LINE_OFFSET; toY += this.LINE_OFFSET;
-
-            // make the joining curve
-            GeneralPath curve = new GeneralPath();
-            curve.moveTo(newX1, newY1);
-            curve.curveTo(newX1, newY1, newX, newY, newX2, newY2);
-
-            // set up graphics for line segment drawing
-            Main.g2D.setStroke(new BasicStroke(Main.mainFrame.getWidth() / 240f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-            Main.g2D.setColor(this.colour);
-
-            // don't draw the curve if there's only one line segment to draw
-            if (newX == fromX && newY == fromY || newX == toX && newY == toY) {
-                // if there's only one segment, directions have to be shifted so line ends are the right direction
-                if (newX == toX && newY == toY) secondDirection = firstDirection;
-                else firstDirection = secondDirection;
-
-                Main.g2D.drawLine(fromX, fromY, newX, newY);
-                Main.g2D.drawLine(newX, newY, toX, toY);
+            if (this.path.getCurrentPoint() == null) this.path.moveTo(segment.fromX + this.LINE_OFFSET, segment.fromY + this.LINE_OFFSET);
+
+            // no curve if there's only one line segment to draw
+            if (segment.straight) {
+                this.path.lineTo(segment.elbowX + this.LINE_OFFSET, segment.elbowY + this.LINE_OFFSET);
             } else {
-                Main.g2D.drawLine(fromX, fromY, newX1, newY1);
-                Main.g2D.draw(curve);
-                Main.g2D.drawLine(newX2, newY2, toX, toY);
+                this.path.lineTo(segment.curveStartX + this.LINE_OFFSET, segment.curveStartY + this.LINE_OFFSET);
+                this.path.append(segment.curve, true);
             }
+            this.path.lineTo(segment.toX + this.LINE_OFFSET, segment.toY + this.LINE_OFFSET);
+        }
 
-            // line ends have a square-ended stroke
-            Main.g2D.setStroke(new BasicStroke(Main.mainFrame.getWidth() / 240f, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER));
-
-            // first station line end
-            if (i == 1) {
-                switch (firstDirection) {
-                    case UP -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX, (int) (fromY + this.END_OFFSET * Math.sqrt(2)));
-                        Main.g2D.drawLine((int) (fromX - this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromY + this.END_OFFSET * Math.sqrt(2)), (int) (fromX + this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromY + this.END_OFFSET * Math.sqrt(2)));
-                    }
-                    case DOWN -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX, (int) (fromY - this.END_OFFSET * Math.sqrt(2)));
-                        Main.g2D.drawLine((int) (fromX - this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromY - this.END_OFFSET * Math.sqrt(2)), (int) (fromX + this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromY - this.END_OFFSET * Math.sqrt(2)));
-                    }
-
-                    case LEFT_UP -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX + this.END_OFFSET, fromY + this.END_OFFSET);
-                        Main.g2D.drawLine(fromX + this.END_OFFSET + this.CURVE_OFFSET, fromY + this.END_OFFSET - this.CURVE_OFFSET, fromX + this.END_OFFSET - this.CURVE_OFFSET, fromY + this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                    case LEFT -> {
-                        Main.g2D.drawLine(fromX, fromY, (int) (fromX + this.END_OFFSET * Math.sqrt(2)), fromY);
-                        Main.g2D.drawLine((int) (fromX + this.END_OFFSET * Math.sqrt(2)), (int) (fromY - this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromX + this.END_OFFSET * Math.sqrt(2)), (int) (fromY + this.CURVE_OFFSET * Math.sqrt(2)));
-                    }
-                    case LEFT_DOWN -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX + this.END_OFFSET, fromY - this.END_OFFSET);
-                        Main.g2D.drawLine(fromX + this.END_OFFSET - this.CURVE_OFFSET, fromY - this.END_OFFSET - this.CURVE_OFFSET, fromX + this.END_OFFSET + this.CURVE_OFFSET, fromY - this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-
-                    case RIGHT_UP -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX - this.END_OFFSET, fromY + this.END_OFFSET);
-                        Main.g2D.drawLine(fromX - this.END_OFFSET - this.CURVE_OFFSET, fromY + this.END_OFFSET - this.CURVE_OFFSET, fromX - this.END_OFFSET + this.CURVE_OFFSET, fromY + this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                    case RIGHT -> {
-                        Main.g2D.drawLine(fromX, fromY, (int) (fromX - this.END_OFFSET * Math.sqrt(2)), fromY);
-                        Main.g2D.drawLine((int) (fromX - this.END_OFFSET * Math.sqrt(2)), (int) (fromY - this.CURVE_OFFSET * Math.sqrt(2)), (int) (fromX - this.END_OFFSET * Math.sqrt(2)), (int) (fromY + this.CURVE_OFFSET * Math.sqrt(2)));
-                    }
-                    case RIGHT_DOWN -> {
-                        Main.g2D.drawLine(fromX, fromY, fromX - this.END_OFFSET, fromY - this.END_OFFSET);
-                        Main.g2D.drawLine(fromX - this.END_OFFSET + this.CURVE_OFFSET, fromY - this.END_OFFSET - this.CURVE_OFFSET, fromX - this.END_OFFSET - this.CURVE_OFFSET, fromY - this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                }
-            }
+        // line ends
+        this.endCaps = new GeneralPath();
+        if (!this.segments.isEmpty()) {
+            Segment first = this.segments.getFirst();
+            Segment last = this.segments.getLast();
+            addEndCap(first.fromX + this.LINE_OFFSET, first.fromY + this.LINE_OFFSET, first.firstDirection.opposite());
+            addEndCap(last.toX + this.LINE_OFFSET, last.toY + this.LINE_OFFSET, last.secondDirection);
+        }
+
+        // shapes from each stop to either end of the line
+        this.shapesForward = new int[size];
+        this.shapesBackward = new int[size];
+        for (int i = size - 1, shapes = 0; i >= 0; i--) {
+            shapes |= 1 << this.stations.get(i).getType().ordinal();
+            this.shapesForward[i] = shapes;
+        }
+        for (int i = 0, shapes = 0; i < size; i++) {
+            shapes |= 1 << this.stations.get(i).getType().ordinal();
+            this.shapesBackward[i] = shapes;
+        }
+    }
 
-            // last station line end
-            if (i == this.stations.size() - 1) {
-                switch (secondDirection) {
-                    case UP -> {
-                        Main.g2D.drawLine(toX, toY, toX, (int) (toY - this.END_OFFSET * Math.sqrt(2)));
-                        Main.g2D.drawLine((int) (toX - this.CURVE_OFFSET * Math.sqrt(2)), (int) (toY - this.END_OFFSET * Math.sqrt(2)), (int) (toX + this.CURVE_OFFSET * Math.sqrt(2)), (int) (toY - this.END_OFFSET * Math.sqrt(2)));
-                    }
-                    case DOWN -> {
-                        Main.g2D.drawLine(toX, toY, toX, (int) (toY + this.END_OFFSET * Math.sqrt(2)));
-                        Main.g2D.drawLine((int) (toX - this.CURVE_OFFSET * Math.sqrt(2)), (int) (toY + this.END_OFFSET * Math.sqrt(2)), (int) (toX + this.CURVE_OFFSET * Math.sqrt(2)), (int) (toY + this.END_OFFSET * Math.sqrt(2)));
-                    }
-
-                    case LEFT_UP -> {
-                        Main.g2D.drawLine(toX, toY, toX - this.END_OFFSET, toY - this.END_OFFSET);
-                        Main.g2D.drawLine(toX - this.END_OFFSET + this.CURVE_OFFSET, toY - this.END_OFFSET - this.CURVE_OFFSET, toX - this.END_OFFSET - this.CURVE_OFFSET, toY - this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                    case LEFT -> {
-                        Main.g2D.drawLine(toX, toY, (int) (toX - this.END_OFFSET * Math.sqrt(2)), toY);
-                        Main.g2D.drawLine((int) (toX - this.END_OFFSET * Math.sqrt(2)), (int) (toY - this.CURVE_OFFSET * Math.sqrt(2)), (int) (toX - this.END_OFFSET * Math.sqrt(2)), (int) (toY + this.CURVE_OFFSET * Math.sqrt(2)));
-                    }
-                    case LEFT_DOWN -> {
-                        Main.g2D.drawLine(toX, toY, toX - this.END_OFFSET, toY + this.END_OFFSET);
-                        Main.g2D.drawLine(toX - this.END_OFFSET - this.CURVE_OFFSET, toY + this.END_OFFSET - this.CURVE_OFFSET, toX - this.END_OFFSET + this.CURVE_OFFSET, toY + this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-
-                    case RIGHT_UP -> {
-                        Main.g2D.drawLine(toX, toY, toX + this.END_OFFSET, toY - this.END_OFFSET);
-                        Main.g2D.drawLine(toX + this.END_OFFSET - this.CURVE_OFFSET, toY - this.END_OFFSET - this.CURVE_OFFSET, toX + this.END_OFFSET + this.CURVE_OFFSET, toY - this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                    case RIGHT -> {
-                        Main.g2D.drawLine(toX, toY, (int) (toX + this.END_OFFSET * Math.sqrt(2)), toY);
-                        Main.g2D.drawLine((int) (toX + this.END_OFFSET * Math.sqrt(2)), (int) (toY - this.CURVE_OFFSET * Math.sqrt(2)), (int) (toX + this.END_OFFSET * Math.sqrt(2)), (int) (toY + this.CURVE_OFFSET * Math.sqrt(2)));
-                    }
-                    case RIGHT_DOWN -> {
-                        Main.g2D.drawLine(toX, toY, toX + this.END_OFFSET, toY + this.END_OFFSET);
-                        Main.g2D.drawLine(toX + this.END_OFFSET + this.CURVE_OFFSET, toY + this.END_OFFSET - this.CURVE_OFFSET, toX + this.END_OFFSET - this.CURVE_OFFSET, toY + this.END_OFFSET + this.CURVE_OFFSET);
-                    }
-                }
+    /**
+     * Add a T-shaped line end to the end caps.
+     * @param x The x-coordinate of the end station.
+     * @param y The y-coordinate of the end station.
+     * @param direction The direction the end points away from the line.
+     */
+    private void addEndCap(int x, int y, Direction direction) {
+        int stepX = direction.getStepX();
+        int stepY = direction.getStepY();
+        int endX, endY;
+
+        if (direction.isDiagonal()) {
+            endX = x + stepX * this.END_OFFSET;
+            endY = y + stepY * this.END_OFFSET;
+
+            // cross bar
+            this.endCaps.moveTo(endX + stepY * this.CURVE_OFFSET, endY - stepX * this.CURVE_OFFSET);
+            this.endCaps.lineTo(endX - stepY * this.CURVE_OFFSET, endY + stepX * this.CURVE_OFFSET);
+        } else {
+            endX = (int) (x + stepX * this.END_OFFSET * Math.sqrt(2));
+            endY = (int) (y + stepY * this.END_OFFSET * Math.sqrt(2));
+
+            // cross bar
+            if (stepX == 0) {
+                this.endCaps.moveTo((int) (endX - this.CURVE_OFFSET * Math.sqrt(2)), endY);
+                this.endCaps.lineTo((int) (endX + this.CURVE_OFFSET * Math.sqrt(2)), endY);
+            } else {
+                this.endCaps.moveTo(endX, (int) (endY - this.CURVE_OFFSET * Math.sqrt(2)));
+                this.endCaps.lineTo(endX, (int) (endY + this.CURVE_OFFSET * Math.sqrt(2)));
             }
         }
+
+        this.endCaps.moveTo(x, y);
+        this.endCaps.lineTo(endX, endY);
+    }
+
+    /**
+     * Draw the line as a coloured line, modified from TransitMapMaker.
+     */
+    public void draw() {
+        draw(Main.g2D);
+    }
+
+    /**
+     * Draw the line as a coloured line onto any graphics, such as an offscreen layer.
+     * @param g2D Where to draw.
+     */
+    public void draw(Graphics2D g2D) {
+        if (getSegments().isEmpty()) return;
+
+        // every pair of neighbouring stations, connected with one or two line segments
+        g2D.setStroke(RenderCache.getStroke(Main.mainFrame.getWidth() / 240.0, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2D.setColor(this.colour);
+        g2D.draw(this.path);
+
+        // line ends have a square-ended stroke
+        g2D.setStroke(RenderCache.getStroke(Main.mainFrame.getWidth() / 240.0, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER));
+        g2D.draw(this.endCaps);
     }
 
 }
@@ -0,0 +1,133 @@
+/*
+ * TITLE: PassengerQueue
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Shapes waiting at a station or riding a train.
+ */
+
+package objects;
+
+import enums.Shape;
+
+/**
+ * Passengers in the order they arrived, stored as Shape ordinals in a ring buffer, with a count of each shape.
+ * A passenger is nothing more than the shape it wants to go to, so no objects are made per passenger.
+ */
+public class PassengerQueue {
+
+    private static final Shape[] SHAPES = Shape.values();
+
+    private byte[] shapes; // capacity is always a power of two
+    private int head, size;
+    private final int[] counts;
+    private final CrowdingTracker tracker;
+    private final int stationId;
+
+    /**
+     * PassengerQueue constructor, empty; for trains.
+     */
+    public PassengerQueue() {
+        this(null, -1);
+    }
+
+    /**
+     * PassengerQueue constructor, empty; for stations, whose crowding is tracked.
+     * @param tracker The game's crowding tracker.
+     * @param stationId The id of the station the queue belongs to.
+     */
+    public PassengerQueue(CrowdingTracker tracker, int stationId) {
+        this.shapes = new byte[8];
+        this.counts = new int[SHAPES.length];
+        this.tracker = tracker;
+        this.stationId = stationId;
+    }
+
+    /**
+     * Add a passenger to the back of the queue.
+     * @param type The shape the passenger wants to go to.
+     */
+    public void add(Shape type) {
+        if (this.size == this.shapes.length) {
+            // unwrap into a buffer twice the size
+            byte[] shapes = new byte[this.shapes.length * 2];
+            for (int i = 0; i < this.size; i++) shapes[i] = this.shapes[(this.head + i) & (this.shapes.length - 1)];
+            this.shapes = shapes;
+            this.head = 0;
+        }
+
+        this.shapes[(this.head + this.size) & (this.shapes.length - 1)] = (byte) type.ordinal();
+        this.size++;
+        this.counts[type.ordinal()]++;
+        if (this.tracker != null) this.tracker.update(this.stationId, this.size);
+    }
+
+    /**
+     * Get a passenger's shape.
+     * @param index The passenger's place in the queue, 0 being the one that has waited longest.
+     * @return The shape the passenger wants to go to.
+     */
+    public Shape get(int index) {
+        return SHAPES[this.shapes[(this.head + index) & (this.shapes.length - 1)]];
+    }
+
+    /**
+     * Get the number of passengers.
+     * @return The number of passengers in the queue.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the number of passengers going to a shape.
+     * @param type The shape.
+     * @return The number of passengers of that type.
+     */
+    public int count(Shape type) {
+        return this.counts[type.ordinal()];
+    }
+
+    /**
+     * Get the shapes in the queue.
+     * @return A bitmask of the Shape ordinals of every passenger.
+     */
+    public int getShapes() {
+        int shapes = 0;
+        for (int i = 0; i < this.counts.length; i++) {
+            if (this.counts[i] > 0) shapes |= 1 << i;
+        }
+        return shapes;
+    }
+
+    /**
+     * Take passengers of some shapes out of the queue, longest waiting first, keeping everyone else in order.
+     * @param shapes A bitmask of the Shape ordinals to take.
+     * @param limit The most passengers to take.
+     * @param destination Where to put them, in the same order; null to just remove them.
+     * @return The number of passengers taken.
+     */
+    public int moveMatching(int shapes, int limit, PassengerQueue destination) {
+        // nobody to take? no need to look through the queue
+        if ((shapes & getShapes()) == 0 || limit <= 0) return 0;
+
+        int mask = this.shapes.length - 1;
+        int moved = 0, kept = 0;
+        for (int i = 0; i < this.size; i++) {
+            byte shape = this.shapes[(this.head + i) & mask];
+
+            if (moved < limit && (shapes & 1 << shape) != 0) {
+                moved++;
+                this.counts[shape]--;
+                if (destination != null) destination.add(SHAPES[shape]);
+            } else {
+                this.shapes[(this.head + kept) & mask] = shape;
+                kept++;
+            }
+        }
+        this.size = kept;
+        if (this.tracker != null) this.tracker.update(this.stationId, this.size);
+
+        return moved;
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * TITLE: PathHistory
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Where a locomotive has been over its last few moves.
+ */
+
+package objects;
+
+import enums.Direction;
+
+/**
+ * The positions and directions of a locomotive's recent moves, stored in a ring buffer, so that its carriages can follow exactly the same path.
+ * Looking up a position some number of moves ago is an array access, however long the train is.
+ */
+public class PathHistory {
+
+    private double[] xs, ys; // capacity is always a power of two
+    private Direction[] directions;
+    private int head; // where the latest move is
+
+    /**
+     * PathHistory constructor, as if the locomotive had always been where it is now.
+     * @param length The most moves ago that will be looked up.
+     * @param x The locomotive's x-coordinate.
+     * @param y The locomotive's y-coordinate.
+     * @param direction The locomotive's direction, null if it has not moved yet.
+     */
+    public PathHistory(int length, double x, double y, Direction direction) {
+        int capacity = Integer.highestOneBit(Math.max(length, 1)) << 1;
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.directions = new Direction[capacity];
+
+        for (int i = 0; i < capacity; i++) {
+            this.xs[i] = x;
+            this.ys[i] = y;
+            this.directions[i] = direction;
+        }
+    }
+
+    /**
+     * Make room to look further back; the new, older moves are copies of the oldest one recorded.
+     * @param length The most moves ago that will be looked up.
+     */
+    public void ensureLength(int length) {
+        if (length < this.xs.length) return;
+
+        int capacity = Integer.highestOneBit(length) << 1;
+        double[] xs = new double[capacity];
+        double[] ys = new double[capacity];
+        Direction[] directions = new Direction[capacity];
+
+        // unwrap, latest move first, padding with the oldest
+        for (int i = 0; i < capacity; i++) {
+            int from = (this.head - Math.min(i, this.xs.length - 1)) & (this.xs.length - 1);
+            xs[capacity - 1 - i] = this.xs[from];
+            ys[capacity - 1 - i] = this.ys[from];
+            directions[capacity - 1 - i] = this.directions[from];
+        }
+
+        this.xs = xs;
+        this.ys = ys;
+        this.directions = directions;
+        this.head = capacity - 1;
+    }
+
+    /**
+     * Get the number of moves that are remembered.
+     * @return The most moves ago that can be looked up, plus one.
+     */
+    public int getCapacity() {
+        return this.xs.length;
+    }
+
+    /**
+     * Remember a move, forgetting the oldest one.
+     * @param x The locomotive's new x-coordinate.
+     * @param y The locomotive's new y-coordinate.
+     * @param direction The locomotive's new direction.
+     */
+    public void add(double x, double y, Direction direction) {
+        this.head = (this.head + 1) & (this.xs.length - 1);
+        this.xs[this.head] = x;
+        this.ys[this.head] = y;
+        this.directions[this.head] = direction;
+    }
+
+    /**
+     * Get where the locomotive was.
+     * @param movesAgo How many moves ago, 0 being the latest.
+     * @return The x-coordinate.
+     */
+    public double getX(int movesAgo) {
+        return this.xs[(this.head - movesAgo) & (this.xs.length - 1)];
+    }
+
+    /**
+     * Get where the locomotive was.
+     * @param movesAgo How many moves ago, 0 being the latest.
+     * @return The y-coordinate.
+     */
+    public double getY(int movesAgo) {
+        return this.ys[(this.head - movesAgo) & (this.xs.length - 1)];
+    }
+
+    /**
+     * Get which way the locomotive was going.
+     * @param movesAgo How many moves ago, 0 being the latest.
+     * @return The direction, null if the locomotive had not moved yet.
+     */
+    public Direction getDirection(int movesAgo) {
+        return this.directions[(this.head - movesAgo) & (this.xs.length - 1)];
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * TITLE: Segment
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: The shape of a line between two neighbouring stations.
+ */
+
+package objects;
+
+import enums.Direction;
+
+import java.awt.geom.GeneralPath;
+
+/**
+ * The route between two neighbouring stations of a line: one straight and one diagonal leg that meet at an elbow, worked out once and shared by drawing and train movement.
+ * Coordinates are the stations' pixel coordinates, before the line offset that moves lines to the centre of the stations. Travelling backwards follows the same route in reverse.
+ */
+public class Segment {
+
+    private static final double SQRT_2 = Math.sqrt(2);
+
+    public final Station fromStation, toStation;
+    public final int fromX, fromY, toX, toY;
+    public final int elbowX, elbowY; // where the two legs meet
+    public final Direction firstDirection, secondDirection;
+    public final double firstLength, secondLength;
+    public final boolean straight; // true if one of the legs has no length, so there is no curve
+    public final int curveStartX, curveStartY, curveEndX, curveEndY; // the rounded corner at the elbow
+    public final GeneralPath curve; // the rounded corner, moved by the line offset
+
+    /**
+     * Work out the route between two stations. Modified from MetroLine.
+     * @param fromStation The station nearer the start of the line.
+     * @param toStation The station nearer the end of the line.
+     * @param diagonal True if the route leaves fromStation diagonally, false if it leaves straight.
+     * @param curveOffset How far the corner's curve starts from the elbow.
+     * @param lineOffset How far lines are drawn from the stations' coordinates.
+     */
+    Segment(Station fromStation, Station toStation, boolean diagonal, int curveOffset, int lineOffset) {
+        this.fromStation = fromStation;
+        this.toStation = toStation;
+        this.fromX = (int) fromStation.getX();
+        this.fromY = (int) fromStation.getY();
+        this.toX = (int) toStation.getX();
+        this.toY = (int) toStation.getY();
+
+        // calculations
+        int xDistance = Math.abs(this.toX - this.fromX);
+        int yDistance = Math.abs(this.toY - this.fromY);
+        int stepX = this.toX >= this.fromX ? 1 : -1;
+        int stepY = this.toY >= this.fromY ? 1 : -1;
+        boolean xLonger = xDistance >= yDistance;
+
+        Direction straightDirection = xLonger ? Direction.of(stepX, 0) : Direction.of(0, stepY);
+        Direction diagonalDirection = Direction.of(stepX, stepY);
+        Direction firstDirection, secondDirection;
+        int elbowX, elbowY, curveStartX, curveStartY, curveEndX, curveEndY;
+
+        // determine directions and where the two legs should meet
+        if (!diagonal) {
+            // straight, then diagonal
+            firstDirection = straightDirection;
+            secondDirection = diagonalDirection;
+
+            if (xLonger) {
+                elbowX = this.fromX + stepX * (xDistance - yDistance);
+                elbowY = this.fromY;
+                curveStartX = (int) (elbowX - stepX * curveOffset * SQRT_2);
+                curveStartY = elbowY;
+            } else {
+                elbowX = this.fromX;
+                elbowY = this.fromY + stepY * (yDistance - xDistance);
+                curveStartX = elbowX;
+                curveStartY = (int) (elbowY - stepY * curveOffset * SQRT_2);
+            }
+            curveEndX = elbowX + stepX * curveOffset;
+            curveEndY = elbowY + stepY * curveOffset;
+        } else {
+            // diagonal, then straight
+            firstDirection = diagonalDirection;
+            secondDirection = straightDirection;
+
+            int distance = Math.min(xDistance, yDistance);
+            elbowX = this.fromX + stepX * distance;
+            elbowY = this.fromY + stepY * distance;
+            curveStartX = this.fromX + stepX * (distance - curveOffset);
+            curveStartY = this.fromY + stepY * (distance - curveOffset);
+
+            if (xLonger) {
+                curveEndX = (int) (elbowX + stepX * curveOffset * SQRT_2);
+                curveEndY = elbowY;
+            } else {
+                curveEndX = elbowX;
+                curveEndY = (int) (elbowY + stepY * curveOffset * SQRT_2);
+            }
+        }
+
+        // if there's only one leg (visually), both directions are the direction of that leg
+        this.straight = elbowX == this.fromX && elbowY == this.fromY || elbowX == this.toX && elbowY == this.toY;
+        if (elbowX == this.toX && elbowY == this.toY) secondDirection = firstDirection;
+        else if (this.straight) firstDirection = secondDirection;
+
+        this.elbowX = elbowX;
+        this.elbowY = elbowY;
+        this.firstDirection = firstDirection;
+        this.secondDirection = secondDirection;
+        this.firstLength = Math.hypot(elbowX - this.fromX, elbowY - this.fromY);
+        this.secondLength = Math.hypot(this.toX - elbowX, this.toY - elbowY);
+        this.curveStartX = curveStartX;
+        this.curveStartY = curveStartY;
+        this.curveEndX = curveEndX;
+        this.curveEndY = curveEndY;
+
+        // make the joining curve
+        this.curve = new GeneralPath();
+        this.curve.moveTo(curveStartX + lineOffset, curveStartY + lineOffset);
+        this.curve.curveTo(curveStartX + lineOffset, curveStartY + lineOffset, elbowX + lineOffset, elbowY + lineOffset, curveEndX + lineOffset, curveEndY + lineOffset);
+    }
+
+    /**
+     * Get the length of the whole route.
+     * @return The length of both legs, in pixels.
+     */
+    public double getLength() {
+        return this.firstLength + this.secondLength;
+    }
+
+    /**
+     * Get the x-coordinate of a point along the route.
+     * @param distance How far the point is from fromStation along the route, in pixels.
+     * @return The point's x-coordinate.
+     */
+    public double getX(double distance) {
+        if (distance <= this.firstLength) return this.fromX + (this.firstLength == 0 ? 0 : (this.elbowX - this.fromX) * distance / this.firstLength);
+        return this.elbowX + (this.toX - this.elbowX) * Math.min((distance - this.firstLength) / this.secondLength, 1);
+    }
+
+    /**
+     * Get the y-coordinate of a point along the route.
+     * @param distance How far the point is from fromStation along the route, in pixels.
+     * @return The point's y-coordinate.
+     */
+    public double getY(double distance) {
+        if (distance <= this.firstLength) return this.fromY + (this.firstLength == 0 ? 0 : (this.elbowY - this.fromY) * distance / this.firstLength);
+        return this.elbowY + (this.toY - this.elbowY) * Math.min((distance - this.firstLength) / this.secondLength, 1);
+    }
+
+    /**
+     * Get the direction of the route at a point along it.
+     * @param distance How far the point is from fromStation along the route, in pixels.
+     * @return The direction of the leg the point is on, travelling forwards.
+     */
+    public Direction getDirection(double distance) {
+        return distance < this.firstLength ? this.firstDirection : this.secondDirection;
+    }
+
+}
@@ -7,35 +7,34 @@
 
 package objects;
 
+import enums.RandomStream;
 import enums.Shape;
+import main.GameWorld;
 import main.Main;
+import utilities.Grid;
+import utilities.ShapeAtlas;
 
 import java.awt.*;
-import java.awt.geom.GeneralPath;
-import java.util.ArrayList;
-import java.util.HashMap;
 
 /**
- * The Station object; double values because of different screen sizes.
+ * The Station object; a view of one station's data in the game's StationStore. Pixel coordinates are worked out from the grid because of different screen sizes.
  */
 public class Station {
-    private double size;
-    private boolean selected;
-    private double x, y;
-    private Shape type;
-    private HashMap<MetroLine, Boolean> diagonal;
-    private ArrayList<Passenger> passengers;
+    private final GameWorld world;
+    private final StationStore store;
+    private final int id;
 
     /**
      * Random station generator.
+     * @param world The game the station belongs to.
      */
-    public Station() {
-        this.size = Main.gridSize;
+    public Station(GameWorld world) {
+        this.world = world;
+        this.store = world.getStationStore();
+        this.id = this.store.add(this);
         generateCoordinates();
-        this.type = generateType();
-        this.diagonal = new HashMap<MetroLine, Boolean>();
-        this.selected = false;
-        this.passengers = new ArrayList<Passenger>();
+        this.store.setType(this.id, generateType());
+        this.store.setPassengers(this.id, new PassengerQueue(world.getCrowding(), this.id));
 
         updateGridAvailability();
         updateShapeAvailability();
@@ -43,17 +42,17 @@ public class Station {
 
     /**
      * Station constructor with random type only; coordinates are from the 80x45 grid and converted to pixels.
+     * @param world The game the station belongs to.
      * @param x Assign the station's x-coordinate.
      * @param y Assign the station's y-coordinate.
      */
-    public Station(int x, int y) {
-        this.size = Main.gridSize;
-        this.x = x * (Main.gridSize);
-        this.y = y * Main.gridSize;
-        this.type = generateType();
-        this.diagonal = new HashMap<MetroLine, Boolean>();
-        this.selected = false;
-        this.passengers = new ArrayList<Passenger>();
+    public Station(GameWorld world, int x, int y) {
+        this.world = world;
+        this.store = world.getStationStore();
+        this.id = this.store.add(this);
+        this.store.setPosition(this.id, x, y);
+        this.store.setType(this.id, generateType());
+        this.store.setPassengers(this.id, new PassengerQueue(world.getCrowding(), this.id));
 
         updateGridAvailability();
         updateShapeAvailability();
@@ -61,15 +60,16 @@ public class Station {
 
     /**
      * Station constructor with random coordinates only; coordinates are from the 80x45 grid and converted to pixels.
+     * @param world The game the station belongs to.
      * @param type Assign the station's type.
      */
-    public Station(Shape type) {
-        this.size = Main.gridSize;
+    public Station(GameWorld world, Shape type) {
+        this.world = world;
+        this.store = world.getStationStore();
+        this.id = this.store.add(this);
         generateCoordinates();
-        this.type = type;
-        this.diagonal = new HashMap<MetroLine, Boolean>();
-        this.selected = false;
-        this.passengers = new ArrayList<Passenger>();
+        this.store.setType(this.id, type);
+        this.store.setPassengers(this.id, new PassengerQueue(world.getCrowding(), this.id));
 
         updateGridAvailability();
         updateShapeAvailability();
@@ -77,18 +77,18 @@ public class Station {
 
     /**
      * Station constructor; coordinates are from the 80x45 grid and converted to pixels.
+     * @param world The game the station belongs to.
      * @param x Assign the station's x-coordinate.
      * @param y Assign the station's y-coordinate.
      * @param type Assign the station's type.
      */
-    public Station(int x, int y, Shape type) {
-        this.size = Main.gridSize;
-        this.x = x * (Main.gridSize);
-        this.y = y * Main.gridSize;
-        this.type = type;
-        this.diagonal = new HashMap<MetroLine, Boolean>();
-        this.selected = false;
-        this.passengers = new ArrayList<Passenger>();
+    public Station(GameWorld world, int x, int y, Shape type) {
+        this.world = world;
+        this.store = world.getStationStore();
+        this.id = this.store.add(this);
+        this.store.setPosition(this.id, x, y);
+        this.store.setType(this.id, type);
+        this.store.setPassengers(this.id, new PassengerQueue(world.getCrowding(), this.id));
 
         updateGridAvailability();
         updateShapeAvailability();
@@ -96,19 +96,19 @@ public class Station {
 
     /**
      * Station constructor with diagonal control; coordinates are from the 80x45 grid and converted to pixels.
+     * @param world The game the station belongs to.
      * @param x Assign the station's x-coordinate.
      * @param y Assign the station's y-coordinate.
      * @param type Assign the station's type.
      * @param diagonal Assign the station's line connection mode.
      */
-    public Station(int x, int y, Shape type, boolean diagonal) {
-        this.size = Main.gridSize;
-        this.x = x * (Main.gridSize);
-        this.y = y * Main.gridSize;
-        this.type = type;
-        this.diagonal = new HashMap<MetroLine, Boolean>();
-        this.selected = false;
-        this.passengers = new ArrayList<Passenger>();
+    public Station(GameWorld world, int x, int y, Shape type, boolean diagonal) {
+        this.world = world;
+        this.store = world.getStationStore();
+        this.id = this.store.add(this);
+        this.store.setPosition(this.id, x, y);
+        this.store.setType(this.id, type);
+        this.store.setPassengers(this.id, new PassengerQueue(world.getCrowding(), this.id));
 
         updateGridAvailability();
         updateShapeAvailability();
@@ -119,7 +119,7 @@ public class Station {
      * @return The random station type.
      */
     public Shape generateType() {
-        int r = (int) (Math.random() * 100);
+        int r = this.world.getRandom().nextInt(RandomStream.STATION_TYPE, 100);
 
         if (r < 2) return Shape.OVAL; // 2%
         else if (r < 4) return Shape.GEM; // 2%
@@ -134,54 +134,33 @@ public class Station {
     }
 
     /**
-     * Generate random coordinates for the station that are allowed by the grid.
+     * Generate random coordinates for the station that are allowed by the grid; CITY squares are ten times as likely as COUNTRY squares.
      */
     private void generateCoordinates() {
-        int gridX, gridY;
-
-        do {
-            // generate random coordinates
-            gridX = (int) (Math.random() * 80);
-            gridY = (int) (Math.random() * 45);
-            // regenerate if the coordinate is illegal or if the coordinate is COUNTRY and unlucky (1 in 10 chance)
-        } while ((Main.grid[gridY][gridX] != Main.COUNTRY && Main.grid[gridY][gridX] <= Main.WATER) || (Main.grid[gridY][gridX] == Main.COUNTRY && (int) (Math.random() * 10) != 0));
-
-        // convert to pixels
-        this.x = (gridX) * (Main.gridSize);
-        this.y = (gridY) * Main.gridSize;
+        int cell = this.world.getGrid().sample(this.world.getRandom(), RandomStream.STATION_PLACEMENT);
+        this.store.setPosition(this.id, cell % Grid.WIDTH, cell / Grid.WIDTH);
     }
 
     /**
      * Prevent future stations from spawning too close to existing ones.
      */
     private void updateGridAvailability() {
-        // buffer zone around stations
-        for (int i = -3; i <= 3; i++) {
-            for (int j = -3; j <= 3; j++) {
-                if (!(Math.abs(i) == 3 && Math.abs(j) == 3 || Math.abs(i) == 3 && Math.abs(j) == 2 || Math.abs(i) == 2 && Math.abs(j) == 3)) {
-                    int gridX = (int) (this.x / this.size) + j;
-                    int gridY = (int) (this.y / this.size) + i;
-
-                    if (gridX >= 0 && gridX < 80 && gridY >= 0 && gridY < 45) Main.grid[gridY][gridX] = Main.TAKEN;
-                }
-            }
-        }
-
-        // update the number of available squares
-        int openCount = 0;
-        for (int i = 0; i < 45; i++) {
-            for (int j = 0; j < 80; j++) {
-                if (Main.grid[i][j] > Main.WATER) openCount++;
-            }
-        }
-        Main.openCount = openCount;
+        this.world.getGrid().takeBuffer(getGridX(), getGridY());
     }
 
     /**
      * Update list of shapes present on the map.
      */
     public void updateShapeAvailability() {
-        if (!Main.shapesPresent.contains(this.type)) Main.shapesPresent.add(this.type);
+        if (!this.world.getShapesPresent().contains(getType())) this.world.getShapesPresent().add(getType());
+    }
+
+    /**
+     * Get the game the station belongs to.
+     * @return The station's world.
+     */
+    public GameWorld getWorld() {
+        return this.world;
     }
 
     /**
@@ -189,7 +168,7 @@ public class Station {
      * @return The station's current size.
      */
     public double getSize() {
-        return this.size;
+        return this.store.getSize(this.id);
     }
 
     /**
@@ -197,39 +176,31 @@ public class Station {
      * @param size The station's new size.
      */
     public void setSize(double size) {
-        this.size = size;
+        this.store.setSize(this.id, size);
     }
 
     /**
      * Get the station's x-coordinate.
-     * @return The station's current x-coordinate.
+     * @return The station's current x-coordinate, in pixels.
      */
     public double getX() {
-        return this.x;
-    }
-
-    /**
-     * Set the station's x-coordinate.
-     * @param x The station's new x-coordinate.
-     */
-    public void setX(double x) {
-        this.x = x;
+        return this.store.getGridX(this.id) * Main.gridSize;
     }
 
     /**
      * Get the station's y-coordinate.
-     * @return The station's current y-coordinate.
+     * @return The station's current y-coordinate, in pixels.
      */
     public double getY() {
-        return this.y;
+        return this.store.getGridY(this.id) * Main.gridSize;
     }
 
     /**
-     * Set the station's y-coordinate.
-     * @param y The station's new y-coordinate.
+     * Get the station's id.
+     * @return The station's number, counting from 0 in the order stations were made.
      */
-    public void setY(double y) {
-        this.y = y;
+    public int getId() {
+        return this.id;
     }
 
     /**
@@ -237,7 +208,7 @@ public class Station {
      * @return The station's current type.
      */
     public Shape getType() {
-        return type;
+        return this.store.getType(this.id);
     }
 
     /**
@@ -245,23 +216,30 @@ public class Station {
      * @param type The station's new type.
      */
     public void setType(Shape type) {
-        this.type = type;
+        this.store.setType(this.id, type);
     }
 
     /**
      * Get whether the station is should be drawn to diagonally first.
+     * @param line The line.
      * @return Whether the station is should be drawn to diagonally first or not.
      */
     public boolean isDiagonal(MetroLine line) {
-        return this.diagonal.get(line);
+        return (this.store.getDiagonalLines(this.id) & 1 << line.getId()) != 0;
     }
 
     /**
      * Set whether the station is should be drawn to diagonally first.
+     * @param line The line.
      * @param diagonal The diagonal state of the station.
      */
     public void setDiagonal(MetroLine line, boolean diagonal) {
-        this.diagonal.put(line, diagonal);
+        int lines = this.store.getLines(this.id) | 1 << line.getId();
+        int diagonalLines = this.store.getDiagonalLines(this.id);
+        if (diagonal) diagonalLines |= 1 << line.getId();
+        else diagonalLines &= ~(1 << line.getId());
+        this.store.setLines(this.id, lines, diagonalLines);
+        line.invalidateGeometry();
     }
 
     /**
@@ -269,7 +247,7 @@ public class Station {
      * @return Whether the station is selected or not.
      */
     public boolean isSelected() {
-        return this.selected;
+        return this.store.isSelected(this.id);
     }
 
     /**
@@ -277,7 +255,7 @@ public class Station {
      * @param selected The selection state of the station.
      */
     public void setSelected(boolean selected) {
-        this.selected = selected;
+        this.store.setSelected(this.id, selected);
     }
 
     /**
@@ -291,142 +269,49 @@ public class Station {
      * Draw the station, specified colour.
      */
     public void draw(Color outlineColour) {
-        Main.g2D.setColor(Color.WHITE);
-        fillShape(0, 0, 1, this.type);
-
-        Main.g2D.setColor(outlineColour);
-        drawShape(1);
-    }
-
-    /**
-     * Fill a shape's background.
-     * @param offsetX How far from the station's x-coordinate the shape should be drawn.
-     * @param offsetY How far from the station's y-coordinate the shape should be drawn.
-     * @param sizeMultiplier How large the shape should be drawn relative to the size of a grid square.
-     * @param type The shape to draw.
-     */
-    private void fillShape(double offsetX, double offsetY, double sizeMultiplier, Shape type) {
-        int iX = (int) (this.x + offsetX);
-        int iY = (int) (this.y + offsetY);
-        int iSize = (int) (this.size * sizeMultiplier);
-
-        // Shape filling; very manual. If you make any changes here, make sure to also change the corresponding draw method.
-        switch (type) {
-            case CIRCLE -> Main.g2D.fillOval(iX, iY, iSize, iSize);
-            case TRIANGLE ->  {iSize = (int) (this.size * sizeMultiplier * 1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize}, new int[] {iY + iSize * 15 / 16, iY + iSize / 16, iY + iSize * 15 / 16}, 3);}
-            case SQUARE -> {iSize = (int) (this.size * sizeMultiplier * 0.9); iX += iSize/20; iY += iSize/20; Main.g2D.fillRect(iX, iY, iSize, iSize);}
-            case STAR -> {iSize = (int) (this.size * sizeMultiplier*1.3); iX -= iSize*3/20; iY -= iSize*3/20; Main.g2D.fillPolygon(new int[] {iX, iX + iSize * 3 / 8, iX + iSize / 2, iX + iSize * 5 / 8, iX + iSize, iX + iSize * 11 / 16, iX + iSize * 25 / 32, iX + iSize / 2, iX + iSize * 7 / 32, iX + iSize * 5 / 16}, new int[] {iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize/16, iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize * 19 / 32, iY + iSize * 15 / 16, iY + iSize * 3 / 4, iY + iSize * 15 / 16, iY + iSize * 19 / 32}, 10);}
-            case PENTAGON -> {iSize = (int) (this.size * sizeMultiplier*1.1); iX -= iSize/20; iY -= iSize/20; Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize * 4 / 5, iX + iSize / 5}, new int[] {iY + iSize * 2 / 5, iY + iSize / 40, iY + iSize * 2 / 5, iY + iSize * 39 / 40, iY + iSize * 39 / 40}, 5);}
-            case GEM -> Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize / 2}, new int[] {iY + iSize / 2, iY, iY + iSize / 2, iY + iSize}, 4);
-            case CROSS -> Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 3, iX + iSize / 3, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize, iX + iSize, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize / 3, iX + iSize / 3, iX}, new int[] {iY + iSize / 3, iY + iSize / 3, iY, iY, iY + iSize / 3, iY + iSize / 3, iY + iSize * 2 / 3, iY + iSize * 2 / 3, iY + iSize, iY + iSize, iY + iSize * 2 / 3, iY + iSize * 2 / 3}, 12);
-            case WEDGE ->  {
-                iY += iSize / 5;
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX + iSize / 2f, iY - iSize / 10f);
-                shape.lineTo(iX + iSize, iY + iSize / 2f);
-                shape.curveTo(iX + iSize, iY + iSize / 2f, iX + iSize / 2f, iY + iSize * 6 / 5f, iX, iY + iSize / 2f);
-                shape.closePath();
-                Main.g2D.fill(shape);
-            }
-            case DIAMOND -> {iSize = (int) (this.size * sizeMultiplier*1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.fillPolygon(new int[] {iX + iSize / 2, iX, iX + iSize / 5, iX + iSize * 4 / 5, iX + iSize}, new int[] {iY + iSize * 17 / 20, iY + iSize * 7 / 20, iY + iSize * 3 / 20, iY + iSize * 3 / 20, iY + iSize * 7 / 20}, 5);}
-            case OVAL -> {
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX, iY + iSize);
-                shape.curveTo(iX, iY + iSize, iX - iSize / 10f, iY - iSize / 10f, iX + iSize, iY);
-                shape.curveTo(iX + iSize, iY, iX + iSize * 11 / 10f, iY + iSize * 11 / 10f, iX, iY + iSize);
-                shape.closePath();
-                Main.g2D.fill(shape);
-            }
-        }
-    }
-
-    /**
-     * Draw a shape's outline.
-     * @param strokeMultiplier The stroke size multiplier.
-     */
-    private void drawShape(float strokeMultiplier) {
-        int iX = (int) (this.x);
-        int iY = (int) (this.y);
-        int iSize = (int) (this.size);
-
-        // stroke multiplier for hover
-        int strokeSize;
-        if (this.type == Shape.STAR) strokeSize = (int) (Main.mainFrame.getWidth() / 480f * strokeMultiplier);
-        else strokeSize = (int) (Main.mainFrame.getWidth() / 384f * strokeMultiplier);
-
-        // different stroke for OVAL
-        if (this.type == Shape.OVAL) Main.g2D.setStroke(new BasicStroke(strokeSize, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
-        else Main.g2D.setStroke(new BasicStroke(strokeSize));
-
-        // Shape drawing; very manual. If you make any changes here, make sure to also change the corresponding fill method.
-        switch (this.type) {
-            case CIRCLE -> Main.g2D.drawOval(iX, iY, iSize, iSize);
-            case TRIANGLE -> {iSize = (int) (this.size*1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.drawPolygon(new int[] {iX, iX + iSize / 2, iX + iSize}, new int[] {iY + iSize * 15 / 16, iY + iSize / 16, iY + iSize * 15 / 16}, 3);}
-            case SQUARE -> {iSize = (int) (this.size * 0.9); iX += iSize/20; iY += iSize/20; Main.g2D.drawRect(iX, iY, iSize, iSize);}
-            case STAR -> {iSize = (int) (this.size*1.3); iX -= iSize*3/20; iY -= iSize*3/20; Main.g2D.drawPolygon(new int[] {iX, iX + iSize * 3 / 8, iX + iSize / 2, iX + iSize * 5 / 8, iX + iSize, iX + iSize * 11 / 16, iX + iSize * 25 / 32, iX + iSize / 2, iX + iSize * 7 / 32, iX + iSize * 5 / 16}, new int[] {iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize/16, iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize * 19 / 32, iY + iSize * 15 / 16, iY + iSize * 3 / 4, iY + iSize * 15 / 16, iY + iSize * 19 / 32}, 10);}
-            case PENTAGON -> {iSize = (int) (this.size*1.1); iX -= iSize/20; iY -= iSize/20; Main.g2D.drawPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize * 4 / 5, iX + iSize / 5}, new int[] {iY + iSize * 2 / 5, iY + iSize / 40, iY + iSize * 2 / 5, iY + iSize * 39 / 40, iY + iSize * 39 / 40}, 5);}
-            case GEM -> Main.g2D.drawPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize / 2}, new int[] {iY + iSize / 2, iY, iY + iSize / 2, iY + iSize}, 4);
-            case CROSS -> Main.g2D.drawPolygon(new int[] {iX, iX + iSize / 3, iX + iSize / 3, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize, iX + iSize, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize / 3, iX + iSize / 3, iX}, new int[] {iY + iSize / 3, iY + iSize / 3, iY, iY, iY + iSize / 3, iY + iSize / 3, iY + iSize * 2 / 3, iY + iSize * 2 / 3, iY + iSize, iY + iSize, iY + iSize * 2 / 3, iY + iSize * 2 / 3}, 12);
-            case WEDGE ->  {
-                iY += iSize / 5;
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX + iSize / 2f, iY - iSize / 10f);
-                shape.lineTo(iX + iSize, iY + iSize / 2f);
-                shape.curveTo(iX + iSize, iY + iSize / 2f, iX + iSize / 2f, iY + iSize * 6 / 5f, iX, iY + iSize / 2f);
-                shape.closePath();
-                Main.g2D.draw(shape);
-            }
-            case DIAMOND -> {iSize = (int) (this.size*1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.drawPolygon(new int[] {iX + iSize / 2, iX, iX + iSize / 5, iX + iSize * 4 / 5, iX + iSize}, new int[] {iY + iSize * 17 / 20, iY + iSize * 7 / 20, iY + iSize * 3 / 20, iY + iSize * 3 / 20, iY + iSize * 7 / 20}, 5);}
-            case OVAL -> {
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX, iY + iSize);
-                shape.curveTo(iX, iY + iSize, iX - iSize / 10f, iY - iSize / 10f, iX + iSize, iY);
-                shape.curveTo(iX + iSize, iY, iX + iSize * 11 / 10f, iY + iSize * 11 / 10f, iX, iY + iSize);
-                shape.closePath();
-                Main.g2D.draw(shape);
-            }
-        }
+        ShapeAtlas.fill(getType(), (int) getX(), (int) getY(), getSize(), Color.WHITE);
+        ShapeAtlas.outline(getType(), (int) getX(), (int) getY(), getSize(), outlineColour, 1);
     }
 
     /**
      * Show that the station is selected, currently only one shape and colour.
      */
     public void highlight(Color colour) {
-        Main.g2D.setColor(colour);
-        drawShape(3);
+        ShapeAtlas.outline(getType(), (int) getX(), (int) getY(), getSize(), colour, 3);
     }
 
     /**
-     * Get the list of passengers.
-     * @return The current list of passengers.
+     * Get the waiting passengers.
+     * @return The queue of passengers, longest waiting first.
      */
-    public ArrayList<Passenger> getPassengers() {
-        return this.passengers;
+    public PassengerQueue getPassengers() {
+        return this.store.getPassengers(this.id);
     }
 
     /**
      * Draw the waiting passengers.
      */
     public void drawPassengers() {
-        double offsetX = this.size * 1.5, offsetY = 0; // distance from top left of station
+        PassengerQueue passengers = getPassengers();
+        double size = getSize();
+        double offsetX = size * 1.5, offsetY = 0; // distance from top left of station
         int total = 0, row = 0; // total passengers overall and in a row
         int opacity = 255; // opacity begins at 100%
 
-        for (Passenger passenger : this.passengers) {
+        for (int i = 0; i < passengers.size(); i++) {
             if (total >= 4 && opacity >= 30) opacity -= 15; // opacity begins decreasing at the 5th passenger
 
-            // set colour with opacity, draw shape (same as station but smaller)
-            Main.g2D.setColor(new Color(0, 0, 0, opacity));
-            fillShape(offsetX, offsetY, 0.6, passenger.getType());
+            // colour with opacity, shape (same as station but smaller)
+            ShapeAtlas.fill(passengers.get(i), (int) (getX() + offsetX), (int) (getY() + offsetY), size * 0.6, Colour.atOpacity(Color.BLACK, opacity));
 
             // update offsets & counts
             if (row >= 3) {
-                offsetY += this.size * 0.75;
+                offsetY += size * 0.75;
 
-                offsetX = this.size * 1.5;
+                offsetX = size * 1.5;
                 row = 0;
             } else {
-                offsetX += this.size * 0.75;
+                offsetX += size * 0.75;
                 row++;
             }
 
@@ -439,7 +324,7 @@ public class Station {
      * @return The station's x-coordinate on the grid.
      */
     public int getGridX() {
-        return (int) (this.x / Main.gridSize);
+        return this.store.getGridX(this.id);
     }
 
     /**
@@ -447,7 +332,7 @@ public class Station {
      * @return The station's y-coordinate on the grid.
      */
     public int getGridY() {
-        return (int) (this.y / Main.gridSize);
+        return this.store.getGridY(this.id);
     }
 
     /**
@@ -455,7 +340,7 @@ public class Station {
      * @return If there is at least one line that connects to this station.
      */
     public boolean isConnected() {
-        return !this.diagonal.isEmpty();
+        return this.store.getLines(this.id) != 0;
     }
 
     /**
@@ -463,7 +348,7 @@ public class Station {
      * @param line The line to disconnect from.
      */
     public void disconnect(MetroLine line) {
-        this.diagonal.remove(line);
+        this.store.setLines(this.id, this.store.getLines(this.id) & ~(1 << line.getId()), this.store.getDiagonalLines(this.id) & ~(1 << line.getId()));
     }
 
 }
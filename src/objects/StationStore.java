@@ -0,0 +1,239 @@
+/*
+ * TITLE: StationStore
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Every station's data in one place.
+ */
+
+package objects;
+
+import enums.Shape;
+import main.Main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The data of all of a game's stations, kept in parallel arrays indexed by station id; a Station is a view of one index.
+ * Loops over every station read a few packed arrays instead of following a reference to each station.
+ */
+public class StationStore {
+
+    private static final Shape[] SHAPES = Shape.values();
+
+    private int count;
+    private int[] gridXs, gridYs;
+    private byte[] shapes; // Shape ordinals
+    private int[] lines; // bitmasks of the ids of the lines each station is connected to
+    private int[] diagonalLines; // bitmasks of the ids of the lines each station is drawn to diagonally first on
+    private double[] sizes;
+    private boolean[] selected;
+    private PassengerQueue[] passengers;
+    private final ArrayList<Station> stations; // the views, by id
+
+    /**
+     * StationStore constructor, with no stations.
+     */
+    public StationStore() {
+        this.gridXs = new int[16];
+        this.gridYs = new int[16];
+        this.shapes = new byte[16];
+        this.lines = new int[16];
+        this.diagonalLines = new int[16];
+        this.sizes = new double[16];
+        this.selected = new boolean[16];
+        this.passengers = new PassengerQueue[16];
+        this.stations = new ArrayList<Station>();
+    }
+
+    /**
+     * Make room for a new station.
+     * @param station The view of the new station.
+     * @return The station's id.
+     */
+    int add(Station station) {
+        if (this.count == this.gridXs.length) {
+            int length = this.count * 2;
+            this.gridXs = Arrays.copyOf(this.gridXs, length);
+            this.gridYs = Arrays.copyOf(this.gridYs, length);
+            this.shapes = Arrays.copyOf(this.shapes, length);
+            this.lines = Arrays.copyOf(this.lines, length);
+            this.diagonalLines = Arrays.copyOf(this.diagonalLines, length);
+            this.sizes = Arrays.copyOf(this.sizes, length);
+            this.selected = Arrays.copyOf(this.selected, length);
+            this.passengers = Arrays.copyOf(this.passengers, length);
+        }
+
+        this.stations.add(station);
+        this.sizes[this.count] = Main.gridSize;
+        return this.count++;
+    }
+
+    /**
+     * Get the number of stations.
+     * @return How many stations there are; ids go from 0 to one less than this.
+     */
+    public int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the view of a station.
+     * @param id The station's id.
+     * @return The station.
+     */
+    public Station getStation(int id) {
+        return this.stations.get(id);
+    }
+
+    /**
+     * Get the views of every station.
+     * @return The stations, by id.
+     */
+    public ArrayList<Station> getStations() {
+        return this.stations;
+    }
+
+    /**
+     * Find the first station, from some id on, that is not on any line.
+     * @param from The id to start looking from.
+     * @return The station's id, -1 if every station from there on is connected.
+     */
+    public int nextUnconnected(int from) {
+        for (int i = from; i < this.count; i++) {
+            if (this.lines[i] == 0) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Get a station's grid x-coordinate.
+     * @param id The station's id.
+     * @return The x-coordinate on the 80x45 grid.
+     */
+    public int getGridX(int id) {
+        return this.gridXs[id];
+    }
+
+    /**
+     * Get a station's grid y-coordinate.
+     * @param id The station's id.
+     * @return The y-coordinate on the 80x45 grid.
+     */
+    public int getGridY(int id) {
+        return this.gridYs[id];
+    }
+
+    /**
+     * Move a station.
+     * @param id The station's id.
+     * @param gridX The station's new grid x-coordinate.
+     * @param gridY The station's new grid y-coordinate.
+     */
+    void setPosition(int id, int gridX, int gridY) {
+        this.gridXs[id] = gridX;
+        this.gridYs[id] = gridY;
+    }
+
+    /**
+     * Get a station's type.
+     * @param id The station's id.
+     * @return The station's shape.
+     */
+    public Shape getType(int id) {
+        return SHAPES[this.shapes[id]];
+    }
+
+    /**
+     * Set a station's type.
+     * @param id The station's id.
+     * @param type The station's new shape.
+     */
+    void setType(int id, Shape type) {
+        this.shapes[id] = (byte) type.ordinal();
+    }
+
+    /**
+     * Get the lines a station is on.
+     * @param id The station's id.
+     * @return A bitmask of line ids.
+     */
+    public int getLines(int id) {
+        return this.lines[id];
+    }
+
+    /**
+     * Get the lines a station is drawn to diagonally first on.
+     * @param id The station's id.
+     * @return A bitmask of line ids.
+     */
+    public int getDiagonalLines(int id) {
+        return this.diagonalLines[id];
+    }
+
+    /**
+     * Set which lines a station is on and which of them it is drawn to diagonally first on.
+     * @param id The station's id.
+     * @param lines A bitmask of line ids.
+     * @param diagonalLines A bitmask of line ids, all of which are in lines.
+     */
+    void setLines(int id, int lines, int diagonalLines) {
+        this.lines[id] = lines;
+        this.diagonalLines[id] = diagonalLines;
+    }
+
+    /**
+     * Get a station's size.
+     * @param id The station's id.
+     * @return The station's size, in pixels.
+     */
+    public double getSize(int id) {
+        return this.sizes[id];
+    }
+
+    /**
+     * Set a station's size.
+     * @param id The station's id.
+     * @param size The station's new size, in pixels.
+     */
+    void setSize(int id, double size) {
+        this.sizes[id] = size;
+    }
+
+    /**
+     * Get whether a station is selected.
+     * @param id The station's id.
+     * @return Whether the station is selected or not.
+     */
+    public boolean isSelected(int id) {
+        return this.selected[id];
+    }
+
+    /**
+     * Set whether a station is selected.
+     * @param id The station's id.
+     * @param selected The selection state of the station.
+     */
+    void setSelected(int id, boolean selected) {
+        this.selected[id] = selected;
+    }
+
+    /**
+     * Get the passengers waiting at a station.
+     * @param id The station's id.
+     * @return The station's queue.
+     */
+    public PassengerQueue getPassengers(int id) {
+        return this.passengers[id];
+    }
+
+    /**
+     * Give a station its queue.
+     * @param id The station's id.
+     * @param passengers The station's queue.
+     */
+    void setPassengers(int id, PassengerQueue passengers) {
+        this.passengers[id] = passengers;
+    }
+
+}
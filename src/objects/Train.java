@@ -10,11 +10,12 @@ package objects;
 import enums.Direction;
 import enums.Shape;
 import main.Main;
+import utilities.RenderCache;
+import utilities.RoutingTable;
+import utilities.ShapeAtlas;
 
 import java.awt.*;
-import java.awt.geom.GeneralPath;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.awt.geom.Line2D;
 
 /**
  * Train game, now with trains.
@@ -22,20 +23,33 @@ import java.util.Iterator;
 public abstract class Train {
     private MetroLine line;
     private Station fromStation, toStation;
-    private ArrayList<Passenger> passengers;
+    private PassengerQueue passengers;
     private boolean isTravellingForward;
-    private double x1, y1, x2, y2;
-    private int waitTick;
+    private double x, y; // the middle of the train
+    private int steps; // ticks spent moving along the current segment
+    private int arrivalSteps; // steps needed to reach toStation
     private boolean waiting;
+    private final Runnable departure = this::depart;
+    private final Runnable firstDeparture = this::leaveFirstStation;
+    private Direction direction;
+    private int toIndex; // where toStation is along the line
+    private int lineVersion; // the line's geometry version that toIndex and segment are for
+    private Segment segment;
 
     public final double TRAIN_SIZE_DIAGONAL = Main.gridSize;
     public final double TRAIN_SIZE_STRAIGHT = (this.TRAIN_SIZE_DIAGONAL * Math.sqrt(2));
 
-    public final double MOVE_DIAGONAL = 0.5;
-    public final double MOVE_STRAIGHT = (this.MOVE_DIAGONAL * Math.sqrt(2));
+    // pixels along the line per tick, in any direction
+    public final double SPEED = 0.5 * Math.sqrt(2);
 
     public final int WAIT_TIME = 100;
 
+    // passengers per train
+    public static final int CAPACITY = 6;
+
+    private static final Shape[] SHAPES = Shape.values();
+    private static final Line2D.Double carLine = new Line2D.Double(); // reused for every car, on the drawing thread
+
     /**
      * Train constructor.
      * @param line The line that the train is to be on.
@@ -46,472 +60,296 @@ public abstract class Train {
         // initial 'to' and 'from' stations
         this.fromStation = this.line.getStations().get(0);
         this.toStation = this.line.getStations().get(1);
+        this.toIndex = 1;
+        this.lineVersion = this.line.getGeometryVersion();
 
         // passengers
-        this.passengers = new ArrayList<Passenger>();
+        this.passengers = new PassengerQueue();
 
         // begin forwards
         this.isTravellingForward = true;
 
-        this.x1 = this.fromStation.getX();
-        this.y1 = this.fromStation.getY();
-
-        this.x2 = this.x1;
-        this.y2 = this.y1;
+        this.x = this.fromStation.getX();
+        this.y = this.fromStation.getY();
     }
 
     /**
-     * Move (and draw) the train. The main part is modified from MetroLine. This code is pretty awful, but I don't have time to improve it.
+     * Move the train by one tick along its line's segment between the two stations.
      */
-    public void moveAndDraw() {
-        // the two directions
-        Direction firstDirection, secondDirection;
-
-        // current station values
-        int fromX = (int) this.fromStation.getX();
-        int fromY = (int) this.fromStation.getY();
-        int toX = (int) this.toStation.getX();
-        int toY = (int) this.toStation.getY();
-        boolean diagonal;
+    public void move() {
+        // dwelling at a station until the scheduled departure
+        if (this.waiting) return;
 
-        if (this.isTravellingForward) diagonal = this.toStation.isDiagonal(this.line); // forwards: get the 'diagonal' of the destination station
-        else diagonal = !this.fromStation.isDiagonal(this.line); // reverse: get the opposite 'diagonal' of the origin station
+        Segment segment = getSegment();
 
         // reached destination station?
-        if (Math.abs(this.x1 - fromX) >= Math.abs(toX - fromX) && Math.abs(this.y1 - fromY) >= Math.abs(toY - fromY)) {
-            // if just arrived, start waiting at this time IF NECESSARY, and also do the things that a train does at a station
-            if (!waiting) {
-                this.waitTick = Main.ticks;
-
-                // where is the current station along the line?
-                int indexOfCurrentStation = this.line.getStations().indexOf(this.toStation);
-
-                // iterate through passengers on the train
-                Iterator<Passenger> trainPassengersIterator = this.passengers.iterator();
-
-                while (trainPassengersIterator.hasNext()) {
-                    Passenger passenger = trainPassengersIterator.next();
-
-                    // drop off passengers that want to go to this station, add a point for each
-                    if (passenger.getType() == toStation.getType()) {
-                        this.waiting = true;
-                        trainPassengersIterator.remove();
-                        Main.points++;
-                    }
-                }
+        if (this.steps >= this.arrivalSteps) {
+            // just arrived, do the things that a train does at a station
 
-                // iterate through passengers at the station
-                Iterator<Passenger> stationPassengersIterator = toStation.getPassengers().iterator();
-
-                while (stationPassengersIterator.hasNext()) {
-                    Passenger passenger = stationPassengersIterator.next();
-
-                    // pick up the passenger if the train will go to its destination and there is space left on the train (6 passenger maximum)
-                    if ((this.isTravellingForward && indexOfCurrentStation != this.line.getStations().size() - 1) || indexOfCurrentStation == 0) {
-                        for (int j = indexOfCurrentStation; j < this.line.getStations().size(); j++) {
-                            if (this.line.getStations().get(j).getType() == passenger.getType() && this.passengers.size() < 6) {
-                                this.waiting = true;
-                                this.passengers.add(passenger);
-                                stationPassengersIterator.remove();
-                                break;
-                            }
-                        }
-                    } else {
-                        for (int j = indexOfCurrentStation; j >= 0; j--) {
-                            if (this.line.getStations().get(j).getType() == passenger.getType() && this.passengers.size() < 6) {
-                                this.waiting = true;
-                                this.passengers.add(passenger);
-                                stationPassengersIterator.remove();
-                                break;
-                            }
-                        }
-                    }
-                }
+            // where is the current station along the line?
+            int indexOfCurrentStation = this.toIndex;
+
+            // which way the train leaves, turning around at either end of the line
+            boolean goingForward = (this.isTravellingForward && indexOfCurrentStation != this.line.getStations().size() - 1) || indexOfCurrentStation == 0;
 
-                if (indexOfCurrentStation == 0 || indexOfCurrentStation == this.line.getStations().size() - 1) this.waiting = true;
+            // network-wide routes, if they are up to date with this line
+            RoutingTable.LineRoutes routes = this.line.getWorld().getRouter().getLineRoutes(this.line);
+
+            // drop off passengers that want to go to this station, add a point for each
+            int delivered = this.passengers.moveMatching(1 << this.toStation.getType().ordinal(), this.passengers.size(), null);
+            if (delivered > 0) {
+                this.waiting = true;
+                this.line.getWorld().addPoints(delivered);
             }
 
-            // if it has been long enough, stop waiting
-            if (Main.ticks >= this.waitTick + this.WAIT_TIME) waiting = false;
-
-            if (!waiting) {
-                if (this.isTravellingForward) {
-                    // too far? switch direction
-                    if (toStation == this.line.getStations().getLast()) {
-                        fromStation = toStation;
-                        toStation = this.line.getStations().get(this.line.getStations().size() - 2);
-
-                        this.isTravellingForward = false;
-                    } else {
-                        fromStation = this.line.getStations().get(this.line.getStations().indexOf(fromStation) + 1);
-                        toStation = this.line.getStations().get(this.line.getStations().indexOf(toStation) + 1);
-                    }
-                } else {
-                    // too far? switch direction
-                    if (toStation == this.line.getStations().getFirst()) {
-                        fromStation = toStation;
-                        toStation = this.line.getStations().get(1);
-
-                        this.isTravellingForward = true;
-                    } else {
-                        fromStation = this.line.getStations().get(this.line.getStations().indexOf(fromStation) - 1);
-                        toStation = this.line.getStations().get(this.line.getStations().indexOf(toStation) - 1);
-                    }
+            // change lines here if staying on would not get a passenger any closer
+            if (routes != null) {
+                int changingShapes = 0;
+                for (Shape type : SHAPES) {
+                    if (this.passengers.count(type) > 0 && !routes.isBetterAhead(indexOfCurrentStation, goingForward, type)) changingShapes |= 1 << type.ordinal();
                 }
 
-                // update 'from' and 'to' variables
-                fromX = (int) this.fromStation.getX();
-                fromY = (int) this.fromStation.getY();
-                toX = (int) this.toStation.getX();
-                toY = (int) this.toStation.getY();
-
-                // update 'diagonal' (refer to the first use of this code for more information)
-                if (this.isTravellingForward) diagonal = this.toStation.isDiagonal(this.line);
-                else diagonal = !this.fromStation.isDiagonal(this.line);
+                if (this.passengers.moveMatching(changingShapes, this.passengers.size(), this.toStation.getPassengers()) > 0) this.waiting = true;
             }
-        }
 
-        // calculations
-        int xDiff = toX - fromX;
-        int yDiff = toY - fromY;
-        int xDiff2 = Math.abs(toX - fromX);
-        int yDiff2 = Math.abs(toY - fromY);
-        boolean xLonger = xDiff2 >= yDiff2;
-        int newX, newY;
-
-        // determine directions and where the two line segments should meet
-        if (!diagonal) {
-            if (xDiff >= 0) {
-                // RIGHT
-                if (yDiff >= 0) {
-                    // RIGHT-DOWN
-                    if (xLonger) {
-                        // RIGHT
-                        firstDirection = Direction.RIGHT;
-                        secondDirection = Direction.RIGHT_DOWN;
-
-                        newX = fromX + (xDiff2 - yDiff2);
-                        newY = fromY;
-                    } else {
-                        // DOWN
-                        firstDirection = Direction.DOWN;
-                        secondDirection = Direction.RIGHT_DOWN;
-
-                        newX = fromX;
-                        newY = fromY + (yDiff2 - xDiff2);
-                    }
-                } else {
-                    // RIGHT-UP
-                    if (xLonger) {
-                        // RIGHT
-                        firstDirection = Direction.RIGHT;
-                        secondDirection = Direction.RIGHT_UP;
-
-                        newX = fromX + (xDiff2 - yDiff2);
-                        newY = fromY;
-                    } else {
-                        // UP
-                        firstDirection = Direction.UP;
-                        secondDirection = Direction.RIGHT_UP;
-
-                        newX = fromX;
-                        newY = fromY - (yDiff2 - xDiff2);
-                    }
+            // pick up passengers if the train will take them closer to their destination and there is space left on the train
+            int usefulShapes = 0;
+            if (routes != null) {
+                for (Shape type : SHAPES) {
+                    if (this.toStation.getPassengers().count(type) > 0 && routes.isBetterAhead(indexOfCurrentStation, goingForward, type)) usefulShapes |= 1 << type.ordinal();
                 }
             } else {
-                // LEFT
-                if (yDiff >= 0) {
-                    // LEFT-DOWN
-                    if (xLonger) {
-                        // LEFT
-                        firstDirection = Direction.LEFT;
-                        secondDirection = Direction.LEFT_DOWN;
-
-                        newX = fromX - (xDiff2 - yDiff2);
-                        newY = fromY;
-                    } else {
-                        // DOWN
-                        firstDirection = Direction.DOWN;
-                        secondDirection = Direction.LEFT_DOWN;
-
-                        newX = fromX;
-                        newY = fromY + (yDiff2 - xDiff2);
-                    }
-                } else {
-                    // LEFT-UP
-                    if (xLonger) {
-                        // LEFT
-                        firstDirection = Direction.LEFT;
-                        secondDirection = Direction.LEFT_UP;
-
-                        newX = fromX - (xDiff2 - yDiff2);
-                        newY = fromY;
-                    } else {
-                        // UP
-                        firstDirection = Direction.UP;
-                        secondDirection = Direction.LEFT_UP;
-
-                        newX = fromX;
-                        newY = fromY - (yDiff2 - xDiff2);
-                    }
-                }
+                // no routes yet, so only the shapes the train will reach before turning around
+                usefulShapes = this.line.getShapesAhead(indexOfCurrentStation, goingForward);
             }
-        } else {
-            int distance = Math.min(xDiff2, yDiff2);
 
-            if (xDiff >= 0) {
-                newX = fromX + distance;
-            } else {
-                newX = fromX - distance;
-            }
+            if (this.toStation.getPassengers().moveMatching(usefulShapes, getCapacity() - this.passengers.size(), this.passengers) > 0) this.waiting = true;
 
-            if (yDiff >= 0) {
-                newY = fromY + distance;
-            } else {
-                newY = fromY - distance;
-            }
+            if (indexOfCurrentStation == 0 || indexOfCurrentStation == this.line.getStations().size() - 1) this.waiting = true;
 
-            if (xDiff >= 0) {
-                // RIGHT
-                if (yDiff >= 0) {
-                    // RIGHT-DOWN
-                    if (xLonger) {
-                        // RIGHT
-                        firstDirection = Direction.RIGHT_DOWN;
-                        secondDirection = Direction.RIGHT;
-                    } else {
-                        // DOWN
-                        firstDirection = Direction.RIGHT_DOWN;
-                        secondDirection = Direction.DOWN;
-                    }
-                } else {
-                    // RIGHT-UP
-                    if (xLonger) {
-                        // RIGHT
-                        firstDirection = Direction.RIGHT_UP;
-                        secondDirection = Direction.RIGHT;
-                    } else {
-                        // UP
-                        firstDirection = Direction.RIGHT_UP;
-                        secondDirection = Direction.UP;
-                    }
-                }
-            } else {
-                // LEFT
-                if (yDiff >= 0) {
-                    // LEFT-DOWN
-                    if (xLonger) {
-                        // LEFT
-                        firstDirection = Direction.LEFT_DOWN;
-                        secondDirection = Direction.LEFT;
-                    } else {
-                        // DOWN
-                        firstDirection = Direction.LEFT_DOWN;
-                        secondDirection = Direction.DOWN;
-                    }
-                } else {
-                    // LEFT-UP
-                    if (xLonger) {
-                        // LEFT
-                        firstDirection = Direction.LEFT_UP;
-                        secondDirection = Direction.LEFT;
-                    } else {
-                        // UP
-                        firstDirection = Direction.LEFT_UP;
-                        secondDirection = Direction.UP;
-                    }
-                }
+            // wait IF NECESSARY, or if the train in front left too recently; the scheduled departure takes the train on from here
+            int ticks = this.line.getWorld().getTicks();
+            int departureTick = this.line.getHeadway().bookDeparture(this, this.toStation, goingForward, this.waiting ? ticks + this.WAIT_TIME : ticks);
+            if (departureTick > ticks) {
+                this.waiting = true;
+                this.line.getWorld().getScheduler().schedule(departureTick, this.departure);
+                return;
             }
-        }
 
-        // if there's only one line segment (visually), discard the invisible one
-        if (newX == fromX && newY == fromY || newX == toX && newY == toY) {
-            if (newX == toX && newY == toY) secondDirection = firstDirection;
-            else firstDirection = secondDirection;
+            advance();
+            segment = getSegment();
         }
 
-        // determine which line segment the train is on
-        Direction moveDirection;
-        if (Math.abs(this.x1 - fromX) >= Math.abs(newX - fromX) && Math.abs(this.y1 - fromY) >= Math.abs(newY - fromY)) moveDirection = secondDirection;
-        else moveDirection = firstDirection;
+        this.steps++;
+        place(segment);
+    }
 
-        Main.g2D.setColor(this.line.getColour());
-        Main.g2D.setStroke(new BasicStroke((float) (Main.gridSize * 0.8), BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
-        GeneralPath trainPath = new GeneralPath();
-
-        // for each of the eight directions...
-        switch (moveDirection) {
-            case UP -> {
-                if (!waiting) {
-                    if (this.isTravellingForward) {
-                        if (diagonal) this.x1 = toX;
-                        else this.x1 = fromX;
-                    } else {
-                        if (diagonal) this.x1 = toX;
-                        else this.x1 = fromX;
-                    }
-                    this.y1 -= this.MOVE_STRAIGHT * Main.tickRate;
-
-                    this.x2 = this.x1;
-                    this.y2 = this.y1 - this.TRAIN_SIZE_STRAIGHT;
-                }
+    /**
+     * Put the train where its steps have taken it along a segment.
+     * @param segment The segment between the train's stations, in the line's forward direction.
+     */
+    private void place(Segment segment) {
+        double distance = Math.min(this.steps * this.SPEED, segment.getLength());
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET, this.y1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_STRAIGHT / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET, this.y2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_STRAIGHT / 2.0);
-            }
-            case DOWN -> {
-                if (!waiting) {
-                    if (this.isTravellingForward) {
-                        if (diagonal) this.x1 = toX;
-                        else this.x1 = fromX;
-                    } else {
-                        if (diagonal) this.x1 = toX;
-                        else this.x1 = fromX;
-                    }
-                    this.y1 += this.MOVE_STRAIGHT * Main.tickRate;
-
-                    this.x2 = this.x1;
-                    this.y2 = this.y1 + this.TRAIN_SIZE_STRAIGHT;
-                }
+        // travelling backwards follows the line's segment in reverse
+        if (!this.isTravellingForward) distance = segment.getLength() - distance;
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET, this.y1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_STRAIGHT / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET, this.y2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_STRAIGHT / 2.0);
-            }
+        this.x = segment.getX(distance);
+        this.y = segment.getY(distance);
+        this.direction = this.isTravellingForward ? segment.getDirection(distance) : segment.getDirection(distance).opposite();
 
-            case LEFT_UP -> {
-                if (!waiting) {
-                    this.x1 -= this.MOVE_DIAGONAL * Main.tickRate;
-                    this.y1 -= this.MOVE_DIAGONAL * Main.tickRate;
+        moved();
+    }
 
-                    this.x2 = this.x1 - this.TRAIN_SIZE_DIAGONAL;
-                    this.y2 = this.y1 - this.TRAIN_SIZE_DIAGONAL;
-                }
+    /**
+     * Called after every move, once the train has its new position.
+     */
+    protected void moved() {
+    }
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0, this.y1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0, this.y2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0);
-            }
-            case LEFT -> {
-                if (!waiting) {
-                    this.x1 -= this.MOVE_STRAIGHT * Main.tickRate;
-                    if (this.isTravellingForward) {
-                        if (diagonal) this.y1 = toY;
-                        else this.y1 = fromY;
-                    } else {
-                        if (diagonal) this.y1 = toY;
-                        else this.y1 = fromY;
-                    }
-                    this.x2 = this.x1 - this.TRAIN_SIZE_STRAIGHT;
-                    this.y2 = this.y1;
-                }
+    /**
+     * Jump the train forwards by several moves at once, for skipping ticks on which nothing happens.
+     * @param moves How many moves to make; no more than getMovesToArrival(), so that no station is passed.
+     */
+    public void skip(int moves) {
+        if (this.waiting) return;
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_STRAIGHT / 2.0, this.y1 + this.line.LINE_OFFSET);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_STRAIGHT / 2.0, this.y2 + this.line.LINE_OFFSET);
-            }
-            case LEFT_DOWN -> {
-                if (!waiting) {
-                    this.x1 -= this.MOVE_DIAGONAL * Main.tickRate;
-                    this.y1 += this.MOVE_DIAGONAL * Main.tickRate;
+        this.steps += moves;
+        place(getSegment());
+    }
 
-                    this.x2 = this.x1 - this.TRAIN_SIZE_DIAGONAL;
-                    this.y2 = this.y1 + this.TRAIN_SIZE_DIAGONAL;
-                }
+    /**
+     * Get how long until the train reaches its next station, worked out from the length of the segment.
+     * @return The number of moves until the train arrives, -1 if it is waiting at a station.
+     */
+    public int getMovesToArrival() {
+        if (this.waiting) return -1;
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0, this.y1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0, this.y2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0);
-            }
+        getSegment();
+        return Math.max(this.arrivalSteps - this.steps, 0);
+    }
 
-            case RIGHT_UP -> {
-                if (!waiting) {
-                    this.x1 += this.MOVE_DIAGONAL * Main.tickRate;
-                    this.y1 -= this.MOVE_DIAGONAL * Main.tickRate;
+    /**
+     * Get the line segment between the train's stations, looking it up again after moving on or when the line has changed.
+     * @return The segment, in the line's forward direction.
+     */
+    private Segment getSegment() {
+        syncWithLine();
 
-                    this.x2 = this.x1 + this.TRAIN_SIZE_DIAGONAL;
-                    this.y2 = this.y1 - this.TRAIN_SIZE_DIAGONAL;
-                }
+        if (this.segment == null) {
+            this.segment = this.line.getSegments().get(this.isTravellingForward ? this.toIndex - 1 : this.toIndex);
+            this.arrivalSteps = (int) Math.ceil(this.segment.getLength() / this.SPEED);
+        }
+        return this.segment;
+    }
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0, this.y1 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0, this.y2 + this.line.LINE_OFFSET + this.TRAIN_SIZE_DIAGONAL / 2.0);
-            }
-            case RIGHT -> {
-                if (!waiting) {
-                    this.x1 += this.MOVE_STRAIGHT * Main.tickRate;
-                    if (this.isTravellingForward) {
-                        if (diagonal) this.y1 = toY;
-                        else this.y1 = fromY;
-                    } else {
-                        if (diagonal) this.y1 = toY;
-                        else this.y1 = fromY;
-                    }
-
-                    this.x2 = this.x1 + this.TRAIN_SIZE_STRAIGHT;
-                    this.y2 = this.y1;
-                }
+    /**
+     * If stations have been added to or removed from the line, find the train's place along it again.
+     */
+    private void syncWithLine() {
+        if (this.lineVersion != this.line.getGeometryVersion()) {
+            this.toIndex = this.line.getStations().indexOf(this.toStation);
+            this.lineVersion = this.line.getGeometryVersion();
+            this.segment = null;
+        }
+    }
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_STRAIGHT / 2.0, this.y1 + this.line.LINE_OFFSET);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_STRAIGHT / 2.0, this.y2 + this.line.LINE_OFFSET);
-            }
-            case RIGHT_DOWN -> {
-                if (!waiting) {
-                    this.x1 += this.MOVE_DIAGONAL * Main.tickRate;
-                    this.y1 += this.MOVE_DIAGONAL * Main.tickRate;
+    /**
+     * Book the train's departure from the first station, where it has just been placed, so that it keeps its distance from a train that has just left there.
+     */
+    void bookFirstDeparture() {
+        int ticks = this.line.getWorld().getTicks();
+        int departureTick = this.line.getHeadway().bookDeparture(this, this.fromStation, true, ticks);
+        if (departureTick > ticks) {
+            this.waiting = true;
+            this.line.getWorld().getScheduler().schedule(departureTick, this.firstDeparture);
+        }
+    }
 
-                    this.x2 = this.x1 + this.TRAIN_SIZE_DIAGONAL;
-                    this.y2 = this.y1 + this.TRAIN_SIZE_DIAGONAL;
-                }
+    /**
+     * The hold at the first station is over: set off towards the second.
+     */
+    private void leaveFirstStation() {
+        // taken off the line while waiting
+        if (!this.line.getTrains().contains(this)) return;
 
-                trainPath.moveTo(this.x1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0, this.y1 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0);
-                trainPath.lineTo(this.x2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0, this.y2 + this.line.LINE_OFFSET - this.TRAIN_SIZE_DIAGONAL / 2.0);
-            }
-        }
+        this.waiting = false;
+        syncWithLine();
+    }
 
-        Main.g2D.draw(trainPath);
+    /**
+     * The dwell is over: leave for the next station along the line.
+     */
+    private void depart() {
+        // taken off the line while waiting
+        if (!this.line.getTrains().contains(this)) return;
 
-        Main.g2D.setColor(Color.BLACK);
-        for (int i = 0; i < this.passengers.size(); i++) {
-            fillShape(Main.gridSize + Main.gridSize / 2.0 * i, Main.gridSize / -2.0, 0.4, this.passengers.get(i).getType());
-        }
+        this.waiting = false;
+        syncWithLine();
+        advance();
     }
 
     /**
-     * Fill a shape's background. Modified from Station.
-     * @param offsetX How far from the station's x-coordinate the shape should be drawn.
-     * @param offsetY How far from the station's y-coordinate the shape should be drawn.
-     * @param sizeMultiplier How large the shape should be drawn relative to the size of a grid square.
-     * @param type The shape to draw.
+     * Move on to the next pair of stations, turning around at either end of the line.
      */
-    private void fillShape(double offsetX, double offsetY, double sizeMultiplier, Shape type) {
-        int iX = (int) (this.x1 + offsetX);
-        int iY = (int) (this.y1 + offsetY);
-        int iSize = (int) (Main.gridSize * sizeMultiplier);
-
-        // [see Station for comments]
-        switch (type) {
-            case CIRCLE -> Main.g2D.fillOval(iX, iY, iSize, iSize);
-            case TRIANGLE ->  {iSize = (int) (Main.gridSize * sizeMultiplier * 1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize}, new int[] {iY + iSize * 15 / 16, iY + iSize / 16, iY + iSize * 15 / 16}, 3);}
-            case SQUARE -> {iSize = (int) (Main.gridSize * sizeMultiplier * 0.9); iX += iSize/20; iY += iSize/20; Main.g2D.fillRect(iX, iY, iSize, iSize);}
-            case STAR -> {iSize = (int) (Main.gridSize * sizeMultiplier*1.3); iX -= iSize*3/20; iY -= iSize*3/20; Main.g2D.fillPolygon(new int[] {iX, iX + iSize * 3 / 8, iX + iSize / 2, iX + iSize * 5 / 8, iX + iSize, iX + iSize * 11 / 16, iX + iSize * 25 / 32, iX + iSize / 2, iX + iSize * 7 / 32, iX + iSize * 5 / 16}, new int[] {iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize/16, iY + iSize * 3 / 8, iY + iSize * 3 / 8, iY + iSize * 19 / 32, iY + iSize * 15 / 16, iY + iSize * 3 / 4, iY + iSize * 15 / 16, iY + iSize * 19 / 32}, 10);}
-            case PENTAGON -> {iSize = (int) (Main.gridSize * sizeMultiplier*1.1); iX -= iSize/20; iY -= iSize/20; Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize * 4 / 5, iX + iSize / 5}, new int[] {iY + iSize * 2 / 5, iY + iSize / 40, iY + iSize * 2 / 5, iY + iSize * 39 / 40, iY + iSize * 39 / 40}, 5);}
-            case GEM -> Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 2, iX + iSize, iX + iSize / 2}, new int[] {iY + iSize / 2, iY, iY + iSize / 2, iY + iSize}, 4);
-            case CROSS -> Main.g2D.fillPolygon(new int[] {iX, iX + iSize / 3, iX + iSize / 3, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize, iX + iSize, iX + iSize * 2 / 3, iX + iSize * 2 / 3, iX + iSize / 3, iX + iSize / 3, iX}, new int[] {iY + iSize / 3, iY + iSize / 3, iY, iY, iY + iSize / 3, iY + iSize / 3, iY + iSize * 2 / 3, iY + iSize * 2 / 3, iY + iSize, iY + iSize, iY + iSize * 2 / 3, iY + iSize * 2 / 3}, 12);
-            case WEDGE ->  {
-                iY += iSize / 5;
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX + iSize / 2f, iY - iSize / 10f);
-                shape.lineTo(iX + iSize, iY + iSize / 2f);
-                shape.curveTo(iX + iSize, iY + iSize / 2f, iX + iSize / 2f, iY + iSize * 6 / 5f, iX, iY + iSize / 2f);
-                shape.closePath();
-                Main.g2D.fill(shape);
+    private void advance() {
+        this.segment = null;
+        this.steps = 0;
+
+        if (this.isTravellingForward) {
+            // too far? switch direction
+            if (this.toIndex == this.line.getStations().size() - 1) {
+                this.isTravellingForward = false;
+                this.toIndex--;
+            } else {
+                this.toIndex++;
             }
-            case DIAMOND -> {iSize = (int) (Main.gridSize * sizeMultiplier*1.2); iX -= iSize/10; iY -= iSize/10; Main.g2D.fillPolygon(new int[] {iX + iSize / 2, iX, iX + iSize / 5, iX + iSize * 4 / 5, iX + iSize}, new int[] {iY + iSize * 17 / 20, iY + iSize * 7 / 20, iY + iSize * 3 / 20, iY + iSize * 3 / 20, iY + iSize * 7 / 20}, 5);}
-            case OVAL -> {
-                GeneralPath shape = new GeneralPath();
-                shape.moveTo(iX, iY + iSize);
-                shape.curveTo(iX, iY + iSize, iX - iSize / 10f, iY - iSize / 10f, iX + iSize, iY);
-                shape.curveTo(iX + iSize, iY, iX + iSize * 11 / 10f, iY + iSize * 11 / 10f, iX, iY + iSize);
-                shape.closePath();
-                Main.g2D.fill(shape);
+        } else {
+            // too far? switch direction
+            if (this.toIndex == 0) {
+                this.isTravellingForward = true;
+                this.toIndex++;
+            } else {
+                this.toIndex--;
             }
         }
+
+        this.fromStation = this.toStation;
+        this.toStation = this.line.getStations().get(this.toIndex);
+    }
+
+    /**
+     * Draw the train and its passengers where the last move left it.
+     */
+    public void draw() {
+        // not moved yet
+        if (this.direction == null) return;
+
+        drawCar(this.x, this.y, this.direction, 0);
+    }
+
+    /**
+     * Draw one car of the train and the passengers riding in it.
+     * @param x The x-coordinate of the middle of the car.
+     * @param y The y-coordinate of the middle of the car.
+     * @param direction The car's direction of travel.
+     * @param car Which car, 0 being the locomotive and 1 the first carriage behind it.
+     */
+    void drawCar(double x, double y, Direction direction, int car) {
+        Main.g2D.setColor(this.line.getColour());
+        Main.g2D.setStroke(RenderCache.getStroke(Main.gridSize * 0.8, BasicStroke.CAP_BUTT, BasicStroke.JOIN_MITER));
+
+        // centred on the car's position, along its direction of travel
+        double halfX = direction.getStepX() * (direction.isDiagonal() ? this.TRAIN_SIZE_DIAGONAL : this.TRAIN_SIZE_STRAIGHT) / 2.0;
+        double halfY = direction.getStepY() * (direction.isDiagonal() ? this.TRAIN_SIZE_DIAGONAL : this.TRAIN_SIZE_STRAIGHT) / 2.0;
+        carLine.setLine(x + this.line.LINE_OFFSET - halfX, y + this.line.LINE_OFFSET - halfY, x + this.line.LINE_OFFSET + halfX, y + this.line.LINE_OFFSET + halfY);
+
+        Main.g2D.draw(carLine);
+
+        // each car carries up to CAPACITY of the passengers, in order
+        for (int i = car * CAPACITY; i < Math.min(this.passengers.size(), (car + 1) * CAPACITY); i++) {
+            ShapeAtlas.fill(this.passengers.get(i), (int) (x + Main.gridSize + Main.gridSize / 2.0 * (i - car * CAPACITY)), (int) (y + Main.gridSize / -2.0), Main.gridSize * 0.4, Color.BLACK);
+        }
+    }
+
+    /**
+     * Get the line the train is on.
+     * @return The train's line.
+     */
+    public MetroLine getLine() {
+        return this.line;
+    }
+
+    /**
+     * Get the train's position.
+     * @return The x-coordinate of the middle of the train.
+     */
+    public double getX() {
+        return this.x;
+    }
+
+    /**
+     * Get the train's position.
+     * @return The y-coordinate of the middle of the train.
+     */
+    public double getY() {
+        return this.y;
+    }
+
+    /**
+     * Get the train's direction of travel.
+     * @return The direction of the last move, null if the train has not moved yet.
+     */
+    public Direction getDirection() {
+        return this.direction;
+    }
+
+    /**
+     * Get the most passengers the train can carry.
+     * @return The train's capacity.
+     */
+    public int getCapacity() {
+        return CAPACITY;
     }
 
     /**
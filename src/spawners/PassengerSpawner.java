@@ -7,49 +7,81 @@
 
 package spawners;
 
+import enums.RandomStream;
 import enums.Shape;
-import main.Main;
-import objects.Passenger;
+import main.GameWorld;
 import objects.Station;
 
-import java.util.HashMap;
-
 /**
  * People to ride the subways.
  */
 public class PassengerSpawner {
 
     private static final int SPAWN_CHANCE = 15;
+    private static final Shape[] SHAPES = Shape.values();
+
+    private final GameWorld world;
+    private int spawnCheckInterval = 200;
+
+    /**
+     * PassengerSpawner constructor.
+     * @param world The game to spawn passengers in.
+     */
+    public PassengerSpawner(GameWorld world) {
+        this.world = world;
+    }
 
-    private static int spawnCheckInterval = 200;
-    private static HashMap<Station, Integer> previousSpawnCheckTicks = new HashMap<Station, Integer>();
+    /**
+     * Start spawning passengers at a station. Its first check is due once the interval has passed since the start of the game.
+     * @param station The new station.
+     */
+    public void addStation(Station station) {
+        this.world.getScheduler().schedule(Math.max(this.world.getTicks(), this.spawnCheckInterval), new SpawnCheck(station));
+    }
 
     /**
-     * Spawn passengers.
+     * Spawn a passenger, maybe.
+     * @param station The station to spawn at.
      */
-    public static void passengerTick(Station station) {
-        if (Main.ticks == 0) previousSpawnCheckTicks.clear(); // clear if restarted
-        if (!previousSpawnCheckTicks.containsKey(station)) previousSpawnCheckTicks.put(station, 0); // initialize values
+    private void passengerCheck(Station station) {
+        // decrease interval over time
+        this.spawnCheckInterval = Math.max(200 - this.world.getTicks() / 1000, 50);
+
+        // random chance?
+        if (this.world.getRandom().nextInt(RandomStream.PASSENGER_SPAWN, SPAWN_CHANCE) == 0) {
+            Shape type;
 
-        // enough time has passed?
-        if (Main.tickRate != 0 && Main.ticks - previousSpawnCheckTicks.get(station) >= spawnCheckInterval) {
-            // decrease interval over time
-            spawnCheckInterval = Math.max(200 - Main.ticks / 1000, 50);
+            do {
+                type = SHAPES[this.world.getRandom().nextInt(RandomStream.PASSENGER_TYPE, SHAPES.length)];
+            } while (type == station.getType() || !this.world.getShapesPresent().contains(type)); // passengers should only spawn of shapes that have appeared on the map, and not of their own station
 
-            // random chance?
-            if ((int) (Math.random() * SPAWN_CHANCE) == 0) {
-                Shape type;
+            station.getPassengers().add(type);
+        }
+    }
 
-                do {
-                    type = Shape.values()[(int) (Math.random() * Shape.values().length)];
-                } while (type == station.getType() || !Main.shapesPresent.contains(type)); // passengers should only spawn of shapes that have appeared on the map, and not of their own station
+    /**
+     * A station's recurring spawn check.
+     */
+    private class SpawnCheck implements Runnable {
+        private final Station station;
 
-                station.getPassengers().add(new Passenger(type));
-            }
+        /**
+         * SpawnCheck constructor.
+         * @param station The station to spawn at.
+         */
+        SpawnCheck(Station station) {
+            this.station = station;
+        }
 
-            // update last checked tick
-            previousSpawnCheckTicks.put(station, Main.ticks);
+        /**
+         * Check the station, then schedule the next check.
+         */
+        @Override
+        public void run() {
+            passengerCheck(this.station);
+            world.getScheduler().schedule(world.getTicks() + spawnCheckInterval, this);
         }
+
     }
 
 }
@@ -7,7 +7,8 @@
 
 package spawners;
 
-import main.Main;
+import enums.RandomStream;
+import main.GameWorld;
 import objects.Station;
 
 /**
@@ -17,25 +18,39 @@ public class StationSpawner {
 
     private static final int SPAWN_CHECK_INTERVAL = 200;
     private static final int SPAWN_CHANCE = 15;
-    private static int previousSpawnCheckTick;
+
+    private final GameWorld world;
+    private final Runnable spawnCheck = this::spawnCheck;
+
+    /**
+     * StationSpawner constructor.
+     * @param world The game to spawn stations in.
+     */
+    public StationSpawner(GameWorld world) {
+        this.world = world;
+    }
 
     /**
-     * Spawn stations until no more can be spawned.
+     * Schedule the first spawn check.
      */
-    public static void stationTick() {
-        // space to spawn?
-        if (Main.openCount > 1) {
-            // enough time has passed?
-            if (Main.tickRate != 0 && Main.ticks - previousSpawnCheckTick >= SPAWN_CHECK_INTERVAL) {
-                // random chance?
-                if ((int) (Math.random() * SPAWN_CHANCE) == 0) {
-                    Main.stations.add(new Station());
-                }
-
-                // update last checked tick
-                previousSpawnCheckTick = Main.ticks;
-            }
+    public void start() {
+        this.world.getScheduler().schedule(this.world.getTicks() + SPAWN_CHECK_INTERVAL, this.spawnCheck);
+    }
+
+    /**
+     * Spawn stations until no more can be spawned; runs every SPAWN_CHECK_INTERVAL ticks.
+     */
+    private void spawnCheck() {
+        // space to spawn? if not, there never will be again, so stop checking
+        if (this.world.getOpenCount() <= 1) return;
+
+        // random chance?
+        if (this.world.getRandom().nextInt(RandomStream.STATION_SPAWN, SPAWN_CHANCE) == 0) {
+            this.world.addStation(new Station(this.world));
         }
+
+        // check again later
+        this.world.getScheduler().schedule(this.world.getTicks() + SPAWN_CHECK_INTERVAL, this.spawnCheck);
     }
 
 }
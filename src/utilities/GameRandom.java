@@ -0,0 +1,61 @@
+/*
+ * TITLE: GameRandom
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Seeded, reproducible randomness for a single game.
+ */
+
+package utilities;
+
+import enums.RandomStream;
+
+import java.util.SplittableRandom;
+
+/**
+ * A game's random source: one seed, split into an independent SplittableRandom for each RandomStream.
+ */
+public class GameRandom {
+    private final long seed;
+    private final SplittableRandom[] streams;
+
+    /**
+     * GameRandom constructor.
+     * @param seed The seed that the whole game's randomness comes from.
+     */
+    public GameRandom(long seed) {
+        this.seed = seed;
+        this.streams = new SplittableRandom[RandomStream.values().length];
+
+        // split in enum order so that the same seed always gives the same streams
+        SplittableRandom root = new SplittableRandom(seed);
+        for (int i = 0; i < this.streams.length; i++) this.streams[i] = root.split();
+    }
+
+    /**
+     * Get the seed.
+     * @return The seed this source was created with.
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Get one of the streams.
+     * @param stream Which subsystem is asking.
+     * @return That subsystem's generator.
+     */
+    public SplittableRandom stream(RandomStream stream) {
+        return this.streams[stream.ordinal()];
+    }
+
+    /**
+     * Random integer from a stream.
+     * @param stream Which subsystem is asking.
+     * @param bound The upper bound (exclusive).
+     * @return A number from 0 to bound - 1.
+     */
+    public int nextInt(RandomStream stream, int bound) {
+        return this.streams[stream.ordinal()].nextInt(bound);
+    }
+
+}
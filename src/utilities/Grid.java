@@ -0,0 +1,173 @@
+/*
+ * TITLE: Grid
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: The 80x45 grid of square types that decides where stations can spawn.
+ */
+
+package utilities;
+
+import enums.RandomStream;
+
+import java.util.Arrays;
+
+/**
+ * One byte per square, plus an index of the open (CITY and COUNTRY) squares that is kept up to date as squares change, so that open counts and weighted random picks never need a scan.
+ */
+public class Grid {
+
+    public static final int WIDTH = 80;
+    public static final int HEIGHT = 45;
+
+    // grid square type constants; CITY and COUNTRY are open, the others are not
+    public static final byte MARGIN = 0;
+    public static final byte TAKEN = 1;
+    public static final byte WATER = 2;
+    public static final byte COUNTRY = 3;
+    public static final byte CITY = 4;
+
+    // a CITY square is ten times as likely to get a station as a COUNTRY square
+    public static final int CITY_WEIGHT = 10;
+    public static final int COUNTRY_WEIGHT = 1;
+
+    // buffer zone around a station: a 7x7 square without its corners, as cell offsets from the station
+    private static final int[] BUFFER_X, BUFFER_Y;
+
+    static {
+        int[] bufferX = new int[49], bufferY = new int[49];
+        int n = 0;
+        for (int i = -3; i <= 3; i++) {
+            for (int j = -3; j <= 3; j++) {
+                if (!(Math.abs(i) == 3 && Math.abs(j) == 3 || Math.abs(i) == 3 && Math.abs(j) == 2 || Math.abs(i) == 2 && Math.abs(j) == 3)) {
+                    bufferX[n] = j;
+                    bufferY[n] = i;
+                    n++;
+                }
+            }
+        }
+        BUFFER_X = Arrays.copyOf(bufferX, n);
+        BUFFER_Y = Arrays.copyOf(bufferY, n);
+    }
+
+    private final byte[] cells; // cell = y * WIDTH + x
+    private final int[] cityCells, countryCells;
+    private int citySize, countrySize;
+    private final int[] positions; // where each open cell is in its list
+
+    /**
+     * Grid constructor; every square starts as MARGIN.
+     */
+    public Grid() {
+        this.cells = new byte[WIDTH * HEIGHT];
+        this.cityCells = new int[WIDTH * HEIGHT];
+        this.countryCells = new int[WIDTH * HEIGHT];
+        this.positions = new int[WIDTH * HEIGHT];
+    }
+
+    /**
+     * Copy a grid.
+     * @param template The grid to copy.
+     */
+    public Grid(Grid template) {
+        this.cells = template.cells.clone();
+        this.cityCells = template.cityCells.clone();
+        this.countryCells = template.countryCells.clone();
+        this.positions = template.positions.clone();
+        this.citySize = template.citySize;
+        this.countrySize = template.countrySize;
+    }
+
+    /**
+     * Get a square's type.
+     * @param x The square's grid x-coordinate.
+     * @param y The square's grid y-coordinate.
+     * @return The square's type.
+     */
+    public byte get(int x, int y) {
+        return this.cells[y * WIDTH + x];
+    }
+
+    /**
+     * Change a square's type, keeping the open square index up to date.
+     * @param x The square's grid x-coordinate.
+     * @param y The square's grid y-coordinate.
+     * @param type The square's new type.
+     */
+    public void set(int x, int y, byte type) {
+        int cell = y * WIDTH + x;
+        byte oldType = this.cells[cell];
+        if (oldType == type) return;
+
+        // take the cell out of its old list by moving the last cell of the list into the gap
+        if (oldType == CITY) {
+            this.citySize--;
+            this.cityCells[this.positions[cell]] = this.cityCells[this.citySize];
+            this.positions[this.cityCells[this.citySize]] = this.positions[cell];
+        } else if (oldType == COUNTRY) {
+            this.countrySize--;
+            this.countryCells[this.positions[cell]] = this.countryCells[this.countrySize];
+            this.positions[this.countryCells[this.countrySize]] = this.positions[cell];
+        }
+
+        // and add it to the end of its new one
+        if (type == CITY) {
+            this.positions[cell] = this.citySize;
+            this.cityCells[this.citySize++] = cell;
+        } else if (type == COUNTRY) {
+            this.positions[cell] = this.countrySize;
+            this.countryCells[this.countrySize++] = cell;
+        }
+
+        this.cells[cell] = type;
+    }
+
+    /**
+     * Determine whether a station could spawn on a square.
+     * @param x The square's grid x-coordinate.
+     * @param y The square's grid y-coordinate.
+     * @return True for CITY and COUNTRY squares.
+     */
+    public boolean isOpen(int x, int y) {
+        byte type = this.cells[y * WIDTH + x];
+        return type == CITY || type == COUNTRY;
+    }
+
+    /**
+     * Mark the buffer zone around a station as TAKEN, so that future stations do not spawn too close to it.
+     * @param x The station's grid x-coordinate.
+     * @param y The station's grid y-coordinate.
+     */
+    public void takeBuffer(int x, int y) {
+        for (int i = 0; i < BUFFER_X.length; i++) {
+            int gridX = x + BUFFER_X[i];
+            int gridY = y + BUFFER_Y[i];
+
+            if (gridX >= 0 && gridX < WIDTH && gridY >= 0 && gridY < HEIGHT) set(gridX, gridY, TAKEN);
+        }
+    }
+
+    /**
+     * Pick a random open square, weighted by type.
+     * @param random The random source.
+     * @param stream The stream to draw from.
+     * @return The cell (y * WIDTH + x), -1 if nothing is open.
+     */
+    public int sample(GameRandom random, RandomStream stream) {
+        int cityWeight = this.citySize * CITY_WEIGHT;
+        int totalWeight = cityWeight + this.countrySize * COUNTRY_WEIGHT;
+        if (totalWeight == 0) return -1;
+
+        int r = random.nextInt(stream, totalWeight);
+        if (r < cityWeight) return this.cityCells[r / CITY_WEIGHT];
+        return this.countryCells[(r - cityWeight) / COUNTRY_WEIGHT];
+    }
+
+    /**
+     * Get the number of squares a station could still spawn on.
+     * @return The number of CITY and COUNTRY squares.
+     */
+    public int getOpenCount() {
+        return this.citySize + this.countrySize;
+    }
+
+}
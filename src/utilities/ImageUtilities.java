@@ -12,6 +12,7 @@ import main.Main;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Objects;
 
@@ -40,29 +41,46 @@ public class ImageUtilities {
     /**
      * Image resizer, uses the width and height of the window.
      * @param image The image to resize.
-     * @return The resized image.
+     * @return The resized image, ready to be drawn at the window's size without scaling.
      */
     public static Image resizeFullScreen(Image image) {
-        return image.getScaledInstance(Main.mainFrame.getWidth(), Main.mainFrame.getHeight(), Image.SCALE_SMOOTH);
+        return rezise(image, Main.mainFrame.getWidth(), Main.mainFrame.getHeight());
     }
 
     /**
-     * Image resizer.
+     * Image resizer; scales once, smoothly, into an image in the screen's own format so that drawing it is a straight copy.
      * @param image The image to resize.
      * @param width The width to resize to.
      * @param height The height to resize to.
      * @return The resized image.
      */
     public static Image rezise(Image image, int width, int height) {
-        return image.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        // ImageIcon waits for the scaled image to be ready
+        Image scaled = new ImageIcon(image.getScaledInstance(width, height, Image.SCALE_SMOOTH)).getImage();
+        int transparency = image instanceof BufferedImage bufferedImage ? bufferedImage.getTransparency() : Transparency.TRANSLUCENT;
+
+        // the window's format if there is one, so the image can be kept in video memory
+        GraphicsConfiguration configuration = Main.mainFrame == null ? null : Main.mainFrame.getGraphicsConfiguration();
+        BufferedImage compatible;
+        if (configuration != null) compatible = configuration.createCompatibleImage(width, height, transparency);
+        else compatible = new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g2D = compatible.createGraphics();
+        g2D.drawImage(scaled, 0, 0, null);
+        g2D.dispose();
+
+        return compatible;
     }
 
     /**
      * Draw an image fullscreen, likely for a background.
-     * @param image The BufferedImage to draw fullscreen.
+     * @param image The BufferedImage to draw fullscreen; drawn without scaling if it is already the window's size.
      */
     public static void drawImageFullScreen(Image image) {
-        Main.g2D.drawImage(image, 0, 0, Main.mainFrame.getWidth(), Main.mainFrame.getHeight(), null);
+        int width = Main.mainFrame.getWidth(), height = Main.mainFrame.getHeight();
+
+        if (image.getWidth(null) == width && image.getHeight(null) == height) Main.g2D.drawImage(image, 0, 0, null);
+        else Main.g2D.drawImage(image, 0, 0, width, height, null);
     }
 
     /**
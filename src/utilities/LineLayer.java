@@ -0,0 +1,87 @@
+/*
+ * TITLE: LineLayer
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: The game's lines, drawn once and reused until they change.
+ */
+
+package utilities;
+
+import main.Main;
+import objects.MetroLine;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * An offscreen image of every line, drawn again only when a line's layout changes (a station is added or removed, or a diagonal is toggled), a line is unlocked or the window changes size.
+ * Otherwise, drawing the whole network is one image copy.
+ */
+public class LineLayer {
+    private BufferedImage image;
+    private final MetroLine[] drawnLines; // the lines in the image
+    private final int[] drawnVersions; // their geometry versions when drawn
+
+    /**
+     * LineLayer constructor, with nothing drawn yet.
+     */
+    public LineLayer() {
+        this.drawnLines = new MetroLine[7];
+        this.drawnVersions = new int[7];
+    }
+
+    /**
+     * Draw the lines, from the offscreen image if it is still up to date.
+     * @param lines The game's lines; locked lines are null.
+     */
+    public void draw(MetroLine[] lines) {
+        int width = Main.mainFrame.getWidth(), height = Main.mainFrame.getHeight();
+        if (this.image == null || this.image.getWidth() != width || this.image.getHeight() != height || hasChanged(lines)) render(lines, width, height);
+
+        Main.g2D.drawImage(this.image, 0, 0, null);
+    }
+
+    /**
+     * Determine whether any line has changed since the image was drawn.
+     * @param lines The game's lines.
+     * @return True if the image is out of date.
+     */
+    private boolean hasChanged(MetroLine[] lines) {
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i] != this.drawnLines[i]) return true;
+            if (lines[i] != null && lines[i].getGeometryVersion() != this.drawnVersions[i]) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Draw every line into the offscreen image.
+     * @param lines The game's lines.
+     * @param width The window's width.
+     * @param height The window's height.
+     */
+    private void render(MetroLine[] lines, int width, int height) {
+        if (this.image == null || this.image.getWidth() != width || this.image.getHeight() != height) {
+            this.image = Main.mainFrame.getGraphicsConfiguration().createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+
+        Graphics2D g2D = this.image.createGraphics();
+
+        // start from a clear image
+        g2D.setComposite(AlphaComposite.Clear);
+        g2D.fillRect(0, 0, width, height);
+        g2D.setComposite(AlphaComposite.SrcOver);
+        g2D.setRenderingHints(Main.g2D.getRenderingHints());
+
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i] != null) {
+                lines[i].draw(g2D);
+                this.drawnVersions[i] = lines[i].getGeometryVersion();
+            }
+            this.drawnLines[i] = lines[i];
+        }
+
+        g2D.dispose();
+    }
+
+}
@@ -7,7 +7,7 @@
 
 package utilities;
 
-import main.Main;
+import objects.MetroMap;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -19,23 +19,25 @@ public class MapUtilities {
 
     /**
      * Make the whole grid "country".
+     * @param grid The grid to edit.
      */
-    public static void initializeGrid() {
+    public static void initializeGrid(Grid grid) {
         for (int i = 0; i < 45; i++) {
             for (int j = 0; j < 80; j++) {
-                Main.grid[i][j] = Main.COUNTRY;
+                grid.set(j, i, Grid.COUNTRY);
             }
         }
     }
 
     /**
      * Prevent stations from spawning too close to the edge of the map.
+     * @param grid The grid to edit.
      */
-    public static void disallowEdge() {
+    public static void disallowEdge(Grid grid) {
         for (int i = 0; i < 45; i++) {
             for (int j = 0; j < 80; j++) {
                 if ((i < 2 || i > 42) || (j < 2 || j > 75)) {
-                    Main.grid[i][j] = Main.MARGIN;
+                    grid.set(j, i, Grid.MARGIN);
                 }
             }
         }
@@ -43,42 +45,45 @@ public class MapUtilities {
 
     /**
      * Prevent stations from spawning below menus.
+     * @param grid The grid to edit.
      */
-    public static void disallowMenuAreas() {
+    public static void disallowMenuAreas(Grid grid) {
         // back arrow area
         for (int i = 0; i < 6; i++) {
             for (int j = 2; j < 12; j++) {
-                Main.grid[i][j] = Main.MARGIN;
+                grid.set(j, i, Grid.MARGIN);
             }
         }
 
         // clock & points area
         for (int i = 0; i < 6; i++) {
             for (int j = 64; j < 80; j++) {
-                Main.grid[i][j] = Main.MARGIN;
+                grid.set(j, i, Grid.MARGIN);
             }
         }
 
         // resources area
         for (int i = 38; i < 45; i++) {
             for (int j = 2; j < 20; j++) {
-                Main.grid[i][j] = Main.MARGIN;
+                grid.set(j, i, Grid.MARGIN);
             }
         }
 
         // line selection area
         for (int i = 38; i < 45; i++) {
             for (int j = 54; j < 80; j++) {
-                Main.grid[i][j] = Main.MARGIN;
+                grid.set(j, i, Grid.MARGIN);
             }
         }
     }
 
     /**
      * Prevent stations from spawning on water and detect CITY tiles.
+     * @param grid The grid to edit.
+     * @param metroMap The map whose image is checked.
      */
-    public static void detectWaterAndCity() {
-        BufferedImage map = (BufferedImage) Main.map.getMap();
+    public static void detectWaterAndCity(Grid grid, MetroMap metroMap) {
+        BufferedImage map = (BufferedImage) metroMap.getMap();
 
         int mapHeight = map.getHeight();
         int mapWidth = map.getWidth();
@@ -88,8 +93,11 @@ public class MapUtilities {
             for (int j = 0; j < mapWidth; j++) {
                 Color colour = new Color(map.getRGB(j, i));
 
-                if (colour.equals(Main.map.getColours()[10])) Main.grid[i / (mapHeight / 45)][j / (mapWidth / 80)] = Main.WATER;
-                if (colour.equals(Main.map.getColours()[8]) && Main.grid[i / (mapHeight / 45)][j / (mapWidth / 80)] == Main.COUNTRY) Main.grid[i / (mapHeight / 45)][j / (mapWidth / 80)] = Main.CITY;
+                int gridX = j / (mapWidth / 80);
+                int gridY = i / (mapHeight / 45);
+
+                if (colour.equals(metroMap.getColours()[10])) grid.set(gridX, gridY, Grid.WATER);
+                if (colour.equals(metroMap.getColours()[8]) && grid.get(gridX, gridY) == Grid.COUNTRY) grid.set(gridX, gridY, Grid.CITY);
             }
         }
     }
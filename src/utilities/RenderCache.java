@@ -0,0 +1,83 @@
+/*
+ * TITLE: RenderCache
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Strokes, colours and numbers that are drawn every frame, made once.
+ */
+
+package utilities;
+
+import main.Main;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * The small objects a frame is drawn with, kept so that drawing the same frame again makes none of them.
+ * Strokes are kept by width, cap and join, and are thrown away if the grid size changes; colours are kept by colour and alpha; numbers up to 255 are kept as text.
+ * Everything here must only be used on the drawing thread.
+ */
+public class RenderCache {
+
+    private static final ArrayList<BasicStroke> strokes = new ArrayList<BasicStroke>();
+    private static final ArrayList<Color> colours = new ArrayList<Color>();
+    private static final String[] numbers = new String[256]; // by value, for the small counts drawn most often
+    private static double builtForGridSize;
+
+    /**
+     * Get a stroke.
+     * @param width The stroke's width, in pixels.
+     * @param cap The stroke's end cap, one of BasicStroke's CAP_ constants.
+     * @param join The stroke's line join, one of BasicStroke's JOIN_ constants.
+     * @return The stroke.
+     */
+    public static BasicStroke getStroke(double width, int cap, int join) {
+        // strokes are almost all sized by the grid, so start again if it changes
+        if (builtForGridSize != Main.gridSize) {
+            strokes.clear();
+            builtForGridSize = Main.gridSize;
+        }
+
+        float lineWidth = (float) width;
+        for (int i = 0; i < strokes.size(); i++) {
+            BasicStroke stroke = strokes.get(i);
+            if (stroke.getLineWidth() == lineWidth && stroke.getEndCap() == cap && stroke.getLineJoin() == join) return stroke;
+        }
+
+        BasicStroke stroke = new BasicStroke(lineWidth, cap, join);
+        strokes.add(stroke);
+        return stroke;
+    }
+
+    /**
+     * Get a colour at some opacity.
+     * @param colour The colour.
+     * @param opacity The alpha value, between 0 and 255.
+     * @return The colour at that opacity.
+     */
+    public static Color getColour(Color colour, int opacity) {
+        int rgb = opacity << 24 | colour.getRGB() & 0xFFFFFF;
+        for (int i = 0; i < colours.size(); i++) {
+            Color cached = colours.get(i);
+            if (cached.getRGB() == rgb) return cached;
+        }
+
+        Color cached = new Color(rgb, true);
+        colours.add(cached);
+        return cached;
+    }
+
+    /**
+     * Get a number as text.
+     * @param value The number.
+     * @return The number in decimal, as String.valueOf would write it.
+     */
+    public static String getNumber(int value) {
+        // only small numbers are kept, so that a long game's score does not leave a string behind for every point
+        if (value < 0 || value >= numbers.length) return String.valueOf(value);
+
+        if (numbers[value] == null) numbers[value] = String.valueOf(value);
+        return numbers[value];
+    }
+
+}
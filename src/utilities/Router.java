@@ -0,0 +1,84 @@
+/*
+ * TITLE: Router
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Keeps a game's routing table up to date as its lines change.
+ */
+
+package utilities;
+
+import objects.MetroLine;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Updates the routing table after lines' stops change, at most one build at a time however many edits there are; each build only searches again around the lines that changed.
+ * Builds run on an executor if one is set (so the window never waits for them), otherwise straight away on the simulation thread (so headless games stay reproducible).
+ */
+public class Router {
+    private final MetroLine[] lines;
+    private Executor executor;
+    private int changedLines; // bitmask of the ids of the lines whose stops have changed since the last build started
+    private volatile boolean building;
+    private volatile RoutingTable table;
+
+    /**
+     * Router constructor.
+     * @param lines The game's lines; locked lines are null.
+     */
+    public Router(MetroLine[] lines) {
+        this.lines = lines;
+        this.changedLines = (1 << lines.length) - 1;
+    }
+
+    /**
+     * Build tables in the background from now on.
+     * @param executor Where to build, null to build on the simulation thread.
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * A line's stops have changed, so the routes around it need working out again.
+     * @param line The line.
+     */
+    public void invalidate(MetroLine line) {
+        this.changedLines |= 1 << line.getId();
+    }
+
+    /**
+     * Start building a new table if any line's stops have changed since the last one; called by the simulation every tick.
+     */
+    public void update() {
+        if (this.changedLines == 0 || this.building) return;
+
+        RoutingTable snapshot = new RoutingTable(this.table, this.lines, this.changedLines);
+        this.changedLines = 0;
+
+        if (this.executor == null) {
+            this.table = snapshot.compute();
+        } else {
+            this.building = true;
+            this.executor.execute(() -> {
+                try {
+                    this.table = snapshot.compute();
+                } finally {
+                    this.building = false;
+                }
+            });
+        }
+    }
+
+    /**
+     * Get the routes along a line.
+     * @param line The line.
+     * @return The line's routes, null if there is no table for the line's current stops yet.
+     */
+    public RoutingTable.LineRoutes getLineRoutes(MetroLine line) {
+        RoutingTable table = this.table;
+        if (table == null) return null;
+        return table.getLineRoutes(line);
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * TITLE: RoutingTable
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: How far every station is from every shape, across the whole network.
+ */
+
+package utilities;
+
+import enums.Shape;
+import objects.MetroLine;
+import objects.Station;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * The network's lines with, for every station and shape, the number of stops to the nearest station of that shape, changing lines wherever they share a station.
+ * Each table is made from the one before it and the lines that have changed since: only the stations joined to those lines, before or after the change, and only the shapes among them, are searched again.
+ * The snapshot is taken on the simulation thread; compute() may then run on any thread, and the finished table is only ever read.
+ */
+public class RoutingTable {
+
+    // more stops than any route can have
+    public static final int UNREACHABLE = Byte.MAX_VALUE;
+
+    private static final int SHAPES = Shape.values().length;
+
+    private RoutingTable previous; // only until compute() is done with it
+    private final int changedLines; // bitmask of the ids of the lines that have changed since the previous table
+    private final MetroLine[] lines;
+    private final int[] lineVersions;
+    private final int[][] lineStops; // each line's stops, as station ids
+    private final int[] stationShapes; // Shape ordinals, by station id
+    private byte[] distances; // [station id * SHAPES + shape ordinal]
+    private LineRoutes[] lineRoutes;
+
+    /**
+     * Take a snapshot of the lines that have changed; must be called on the simulation thread.
+     * @param previous The table the changes are made to, null for the first table.
+     * @param lines The lines; locked lines are null.
+     * @param changedLines A bitmask of the ids of the lines that have changed.
+     */
+    public RoutingTable(RoutingTable previous, MetroLine[] lines, int changedLines) {
+        this.previous = previous;
+        this.changedLines = changedLines;
+        this.lines = previous == null ? new MetroLine[lines.length] : previous.lines.clone();
+        this.lineVersions = previous == null ? new int[lines.length] : previous.lineVersions.clone();
+        this.lineStops = previous == null ? new int[lines.length][] : previous.lineStops.clone();
+
+        // the stops of the changed lines, as they are now
+        int maxId = previous == null ? -1 : previous.stationShapes.length - 1;
+        for (int i = 0; i < lines.length; i++) {
+            if ((changedLines & 1 << i) == 0) continue;
+
+            this.lines[i] = lines[i];
+            if (lines[i] == null) {
+                this.lineStops[i] = null;
+                continue;
+            }
+
+            ArrayList<Station> stops = lines[i].getStations();
+            this.lineVersions[i] = lines[i].getStopsVersion();
+            this.lineStops[i] = new int[stops.size()];
+            for (int j = 0; j < stops.size(); j++) {
+                this.lineStops[i][j] = stops.get(j).getId();
+                maxId = Math.max(maxId, stops.get(j).getId());
+            }
+        }
+
+        // a station's shape never changes, so only stations new to the lines need looking up
+        this.stationShapes = previous == null ? new int[maxId + 1] : Arrays.copyOf(previous.stationShapes, maxId + 1);
+        for (int i = 0; i < lines.length; i++) {
+            if ((changedLines & 1 << i) == 0 || lines[i] == null) continue;
+            for (Station station : lines[i].getStations()) this.stationShapes[station.getId()] = station.getType().ordinal();
+        }
+    }
+
+    /**
+     * Work out the distances that the changes could have affected; safe to call on any thread.
+     * @return This table.
+     */
+    public RoutingTable compute() {
+        int stationCount = this.stationShapes.length;
+
+        // start from the previous table's distances and routes
+        this.distances = new byte[stationCount * SHAPES];
+        Arrays.fill(this.distances, (byte) UNREACHABLE);
+        this.lineRoutes = new LineRoutes[this.lines.length];
+        if (this.previous != null) {
+            System.arraycopy(this.previous.distances, 0, this.distances, 0, this.previous.distances.length);
+            System.arraycopy(this.previous.lineRoutes, 0, this.lineRoutes, 0, this.lineRoutes.length);
+        }
+
+        // neighbouring stops, along every line
+        int[] degrees = new int[stationCount];
+        for (int[] stops : this.lineStops) {
+            if (stops == null) continue;
+            for (int j = 1; j < stops.length; j++) {
+                degrees[stops[j - 1]]++;
+                degrees[stops[j]]++;
+            }
+        }
+        int[][] neighbours = new int[stationCount][];
+        for (int i = 0; i < stationCount; i++) neighbours[i] = new int[degrees[i]];
+        Arrays.fill(degrees, 0);
+        for (int[] stops : this.lineStops) {
+            if (stops == null) continue;
+            for (int j = 1; j < stops.length; j++) {
+                neighbours[stops[j - 1]][degrees[stops[j - 1]]++] = stops[j];
+                neighbours[stops[j]][degrees[stops[j]]++] = stops[j - 1];
+            }
+        }
+
+        // every station now joined to a stop that a changed line has or had; no other station's distances can have changed
+        boolean[] affected = new boolean[stationCount];
+        int[] queue = new int[stationCount];
+        int count = 0;
+        for (int i = 0; i < this.lines.length; i++) {
+            if ((this.changedLines & 1 << i) == 0) continue;
+            if (this.lineStops[i] != null) count = enqueue(this.lineStops[i], affected, queue, count);
+            if (this.previous != null && this.previous.lineStops[i] != null) count = enqueue(this.previous.lineStops[i], affected, queue, count);
+        }
+        for (int head = 0; head < count; head++) {
+            for (int neighbour : neighbours[queue[head]]) {
+                if (!affected[neighbour]) {
+                    affected[neighbour] = true;
+                    queue[count++] = neighbour;
+                }
+            }
+        }
+
+        // forget their distances, and note the shapes among them
+        int shapes = 0;
+        for (int i = 0; i < count; i++) {
+            Arrays.fill(this.distances, queue[i] * SHAPES, queue[i] * SHAPES + SHAPES, (byte) UNREACHABLE);
+            shapes |= 1 << this.stationShapes[queue[i]];
+        }
+
+        // breadth-first search outwards from every affected station of each of those shapes at once
+        int[] search = new int[count];
+        for (int shape = 0; shape < SHAPES; shape++) {
+            if ((shapes & 1 << shape) == 0) continue;
+
+            int head = 0, tail = 0;
+            for (int i = 0; i < count; i++) {
+                if (this.stationShapes[queue[i]] == shape) {
+                    this.distances[queue[i] * SHAPES + shape] = 0;
+                    search[tail++] = queue[i];
+                }
+            }
+
+            while (head < tail) {
+                int station = search[head++];
+                int distance = this.distances[station * SHAPES + shape] + 1;
+                if (distance >= UNREACHABLE) continue;
+
+                for (int neighbour : neighbours[station]) {
+                    if (this.distances[neighbour * SHAPES + shape] == UNREACHABLE) {
+                        this.distances[neighbour * SHAPES + shape] = (byte) distance;
+                        search[tail++] = neighbour;
+                    }
+                }
+            }
+        }
+
+        // routes along the changed lines and every line that stops at an affected station
+        for (int i = 0; i < this.lines.length; i++) {
+            int[] stops = this.lineStops[i];
+            if (stops == null) {
+                this.lineRoutes[i] = null;
+                continue;
+            }
+
+            boolean changed = (this.changedLines & 1 << i) != 0;
+            for (int j = 0; j < stops.length && !changed; j++) changed = affected[stops[j]];
+            if (changed) this.lineRoutes[i] = new LineRoutes(stops, this.distances);
+        }
+
+        this.previous = null;
+        return this;
+    }
+
+    /**
+     * Mark stations as affected.
+     * @param stops The stations, as station ids.
+     * @param affected Which stations are already affected, by station id.
+     * @param queue The affected stations, in the order they were found.
+     * @param count How many stations are in the queue.
+     * @return How many stations are in the queue now.
+     */
+    private static int enqueue(int[] stops, boolean[] affected, int[] queue, int count) {
+        for (int stop : stops) {
+            if (!affected[stop]) {
+                affected[stop] = true;
+                queue[count++] = stop;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Get the routes along a line, if the snapshot still matches it.
+     * @param line The line.
+     * @return The line's routes, null if the line's stops have changed since the snapshot.
+     */
+    public LineRoutes getLineRoutes(MetroLine line) {
+        int id = line.getId();
+        if (this.lines[id] != line || this.lineVersions[id] != line.getStopsVersion()) return null;
+        return this.lineRoutes[id];
+    }
+
+    /**
+     * The distance to each shape from each stop of one line, and the best distance from the stops ahead of it in both directions.
+     */
+    public static class LineRoutes {
+        private final byte[] here, bestForward, bestBackward; // [stop index * SHAPES + shape ordinal]; ahead does not count the stop itself
+
+        /**
+         * LineRoutes constructor.
+         * @param stops The line's stops, as station ids.
+         * @param distances The table's distances, by station id.
+         */
+        private LineRoutes(int[] stops, byte[] distances) {
+            this.here = new byte[stops.length * SHAPES];
+            this.bestForward = new byte[stops.length * SHAPES];
+            this.bestBackward = new byte[stops.length * SHAPES];
+
+            for (int shape = 0; shape < SHAPES; shape++) {
+                int best = UNREACHABLE;
+                for (int i = stops.length - 1; i >= 0; i--) {
+                    this.here[i * SHAPES + shape] = distances[stops[i] * SHAPES + shape];
+                    this.bestForward[i * SHAPES + shape] = (byte) best;
+                    best = Math.min(best, distances[stops[i] * SHAPES + shape]);
+                }
+
+                best = UNREACHABLE;
+                for (int i = 0; i < stops.length; i++) {
+                    this.bestBackward[i * SHAPES + shape] = (byte) best;
+                    best = Math.min(best, distances[stops[i] * SHAPES + shape]);
+                }
+            }
+        }
+
+        /**
+         * Determine whether riding on from a stop brings a passenger closer than getting off there.
+         * @param index The stop's index along the line.
+         * @param forward True if the train leaves towards the end of the line.
+         * @param type The passenger's destination shape.
+         * @return True if a stop ahead is nearer to the destination than this one.
+         */
+        public boolean isBetterAhead(int index, boolean forward, Shape type) {
+            int best = forward ? this.bestForward[index * SHAPES + type.ordinal()] : this.bestBackward[index * SHAPES + type.ordinal()];
+            return best < this.here[index * SHAPES + type.ordinal()];
+        }
+
+    }
+
+}
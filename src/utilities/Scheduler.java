@@ -0,0 +1,109 @@
+/*
+ * TITLE: Scheduler
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Runs things at a given tick instead of checking every tick whether it is time yet.
+ */
+
+package utilities;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of events keyed by tick. Events due on the same tick run in the order they were scheduled, so runs stay reproducible.
+ */
+public class Scheduler {
+    private long[] keys; // tick in the high 32 bits, scheduling order in the low 32 bits
+    private Runnable[] events;
+    private int size;
+    private int sequence;
+
+    /**
+     * Scheduler constructor.
+     */
+    public Scheduler() {
+        this.keys = new long[64];
+        this.events = new Runnable[64];
+    }
+
+    /**
+     * Run an event at a tick.
+     * @param tick When to run it; ticks in the past run at the next runDue.
+     * @param event What to run.
+     */
+    public void schedule(int tick, Runnable event) {
+        if (this.size == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2);
+            this.events = Arrays.copyOf(this.events, this.size * 2);
+        }
+
+        long key = ((long) tick << 32) | (this.sequence++ & 0xFFFFFFFFL);
+
+        // sift up
+        int i = this.size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (this.keys[parent] <= key) break;
+            this.keys[i] = this.keys[parent];
+            this.events[i] = this.events[parent];
+            i = parent;
+        }
+        this.keys[i] = key;
+        this.events[i] = event;
+    }
+
+    /**
+     * Run every event due at or before a tick, including events scheduled for that tick while running.
+     * @param tick The current tick.
+     */
+    public void runDue(int tick) {
+        while (this.size > 0 && (int) (this.keys[0] >> 32) <= tick) {
+            Runnable event = this.events[0];
+            removeFirst();
+            event.run();
+        }
+    }
+
+    /**
+     * Get when the next event is due.
+     * @return The tick of the earliest event, Integer.MAX_VALUE if there are none.
+     */
+    public int nextTick() {
+        if (this.size == 0) return Integer.MAX_VALUE;
+        return (int) (this.keys[0] >> 32);
+    }
+
+    /**
+     * Get the number of events waiting.
+     * @return The number of scheduled events.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Take the earliest event off the heap.
+     */
+    private void removeFirst() {
+        int last = --this.size;
+        long key = this.keys[last];
+        Runnable event = this.events[last];
+        this.events[last] = null;
+        if (last == 0) return;
+
+        // sift down
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= last) break;
+            if (child + 1 < last && this.keys[child + 1] < this.keys[child]) child++;
+            if (key <= this.keys[child]) break;
+            this.keys[i] = this.keys[child];
+            this.events[i] = this.events[child];
+            i = child;
+        }
+        this.keys[i] = key;
+        this.events[i] = event;
+    }
+
+}
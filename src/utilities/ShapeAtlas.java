@@ -0,0 +1,148 @@
+/*
+ * TITLE: ShapeAtlas
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Station shapes, drawn once into small images and copied from then on.
+ */
+
+package utilities;
+
+import enums.Shape;
+import main.Main;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+
+/**
+ * Sprites of every shape at every size, colour and outline thickness that has been drawn, each rendered the first time it is needed.
+ * Stations, waiting passengers and riders are then image copies. Everything is thrown away and redrawn if the grid size changes.
+ */
+public class ShapeAtlas {
+
+    private static final EnumMap<Shape, ArrayList<Sprite>> sprites = new EnumMap<Shape, ArrayList<Sprite>>(Shape.class);
+    private static double builtForGridSize;
+
+    static {
+        for (Shape type : Shape.values()) sprites.put(type, new ArrayList<Sprite>());
+    }
+
+    /**
+     * One pre-rendered shape.
+     * @param size The shape's size, in pixels.
+     * @param rgb The colour, with alpha.
+     * @param strokeMultiplier The outline's thickness relative to a station outline, 0 for a filled shape.
+     * @param image The rendered shape.
+     * @param padding How far the image extends above and to the left of the shape's position.
+     */
+    private record Sprite(double size, int rgb, float strokeMultiplier, BufferedImage image, int padding) {
+    }
+
+    /**
+     * Fill a shape.
+     * @param type The shape.
+     * @param x The x-coordinate of the shape's top left.
+     * @param y The y-coordinate of the shape's top left.
+     * @param size The shape's size, in pixels.
+     * @param colour The colour to fill with.
+     */
+    public static void fill(Shape type, int x, int y, double size, Color colour) {
+        draw(getSprite(type, size, colour, 0), x, y);
+    }
+
+    /**
+     * Outline a shape.
+     * @param type The shape.
+     * @param x The x-coordinate of the shape's top left.
+     * @param y The y-coordinate of the shape's top left.
+     * @param size The shape's size, in pixels.
+     * @param colour The outline's colour.
+     * @param strokeMultiplier The outline's thickness relative to a station outline.
+     */
+    public static void outline(Shape type, int x, int y, double size, Color colour, float strokeMultiplier) {
+        draw(getSprite(type, size, colour, strokeMultiplier), x, y);
+    }
+
+    /**
+     * Copy a sprite to the screen.
+     * @param sprite The sprite.
+     * @param x The x-coordinate of the shape's top left.
+     * @param y The y-coordinate of the shape's top left.
+     */
+    private static void draw(Sprite sprite, int x, int y) {
+        Main.g2D.drawImage(sprite.image(), x - sprite.padding(), y - sprite.padding(), null);
+    }
+
+    /**
+     * Find a sprite, rendering it if it has not been needed before.
+     * @param type The shape.
+     * @param size The shape's size, in pixels.
+     * @param colour The colour.
+     * @param strokeMultiplier The outline's thickness, 0 for a filled shape.
+     * @return The sprite.
+     */
+    private static Sprite getSprite(Shape type, double size, Color colour, float strokeMultiplier) {
+        // a different grid size means different stroke sizes, so start again
+        if (builtForGridSize != Main.gridSize) {
+            for (ArrayList<Sprite> candidates : sprites.values()) candidates.clear();
+            builtForGridSize = Main.gridSize;
+        }
+
+        ArrayList<Sprite> candidates = sprites.get(type);
+        int rgb = colour.getRGB();
+        for (int i = 0; i < candidates.size(); i++) {
+            Sprite sprite = candidates.get(i);
+            if (sprite.size() == size && sprite.rgb() == rgb && sprite.strokeMultiplier() == strokeMultiplier) return sprite;
+        }
+
+        Sprite sprite = render(type, size, colour, strokeMultiplier);
+        candidates.add(sprite);
+        return sprite;
+    }
+
+    /**
+     * Render a sprite.
+     * @param type The shape.
+     * @param size The shape's size, in pixels.
+     * @param colour The colour.
+     * @param strokeMultiplier The outline's thickness, 0 for a filled shape.
+     * @return The new sprite.
+     */
+    private static Sprite render(Shape type, double size, Color colour, float strokeMultiplier) {
+        // room for shapes that reach past their size, and for the outline
+        int strokeSize = getStrokeSize(type, strokeMultiplier);
+        int padding = (int) (size / 2) + strokeSize + 2;
+        int imageSize = (int) (size * 1.5) + padding * 2;
+
+        BufferedImage image = Main.mainFrame.getGraphicsConfiguration().createCompatibleImage(imageSize, imageSize, Transparency.TRANSLUCENT);
+        Graphics2D g2D = image.createGraphics();
+        g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2D.setColor(colour);
+
+        if (strokeMultiplier == 0) {
+            g2D.fill(ShapeGeometry.place(type, padding, padding, size));
+        } else {
+            // different stroke for OVAL
+            if (type == Shape.OVAL) g2D.setStroke(new BasicStroke(strokeSize, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            else g2D.setStroke(new BasicStroke(strokeSize));
+            g2D.draw(ShapeGeometry.place(type, padding, padding, size));
+        }
+
+        g2D.dispose();
+        return new Sprite(size, colour.getRGB(), strokeMultiplier, image, padding);
+    }
+
+    /**
+     * Get the thickness of an outline.
+     * @param type The shape.
+     * @param strokeMultiplier The outline's thickness relative to a station outline, 0 for none.
+     * @return The stroke size, in pixels.
+     */
+    private static int getStrokeSize(Shape type, float strokeMultiplier) {
+        // stroke multiplier for hover
+        if (type == Shape.STAR) return (int) (Main.mainFrame.getWidth() / 480f * strokeMultiplier);
+        else return (int) (Main.mainFrame.getWidth() / 384f * strokeMultiplier);
+    }
+
+}
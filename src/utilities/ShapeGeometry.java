@@ -0,0 +1,93 @@
+/*
+ * TITLE: ShapeGeometry
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: The outline of every station shape, made once.
+ */
+
+package utilities;
+
+import enums.Shape;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+
+/**
+ * Every Shape's outline in unit space, where a shape of size 1 has its top left at (0, 0); some shapes reach a little past that square, as they always have.
+ * Outlines are built once and never change. Placing one on screen reuses one transform and one path, so it does not allocate; it must only be done on the drawing thread.
+ */
+public class ShapeGeometry {
+
+    private static final java.awt.Shape[] UNIT_SHAPES = new java.awt.Shape[Shape.values().length]; // by Shape ordinal
+    private static final AffineTransform transform = new AffineTransform();
+    private static final Path2D.Double placed = new Path2D.Double();
+
+    static {
+        UNIT_SHAPES[Shape.CIRCLE.ordinal()] = new Ellipse2D.Double(0, 0, 1, 1);
+        UNIT_SHAPES[Shape.TRIANGLE.ordinal()] = polygon(1.2, -0.12, -0.12, new double[] {0, 1 / 2.0, 1}, new double[] {15 / 16.0, 1 / 16.0, 15 / 16.0});
+        UNIT_SHAPES[Shape.SQUARE.ordinal()] = new Rectangle2D.Double(0.045, 0.045, 0.9, 0.9);
+        UNIT_SHAPES[Shape.STAR.ordinal()] = polygon(1.3, -0.195, -0.195, new double[] {0, 3 / 8.0, 1 / 2.0, 5 / 8.0, 1, 11 / 16.0, 25 / 32.0, 1 / 2.0, 7 / 32.0, 5 / 16.0}, new double[] {3 / 8.0, 3 / 8.0, 1 / 16.0, 3 / 8.0, 3 / 8.0, 19 / 32.0, 15 / 16.0, 3 / 4.0, 15 / 16.0, 19 / 32.0});
+        UNIT_SHAPES[Shape.PENTAGON.ordinal()] = polygon(1.1, -0.055, -0.055, new double[] {0, 1 / 2.0, 1, 4 / 5.0, 1 / 5.0}, new double[] {2 / 5.0, 1 / 40.0, 2 / 5.0, 39 / 40.0, 39 / 40.0});
+        UNIT_SHAPES[Shape.GEM.ordinal()] = polygon(1, 0, 0, new double[] {0, 1 / 2.0, 1, 1 / 2.0}, new double[] {1 / 2.0, 0, 1 / 2.0, 1});
+        UNIT_SHAPES[Shape.CROSS.ordinal()] = polygon(1, 0, 0, new double[] {0, 1 / 3.0, 1 / 3.0, 2 / 3.0, 2 / 3.0, 1, 1, 2 / 3.0, 2 / 3.0, 1 / 3.0, 1 / 3.0, 0}, new double[] {1 / 3.0, 1 / 3.0, 0, 0, 1 / 3.0, 1 / 3.0, 2 / 3.0, 2 / 3.0, 1, 1, 2 / 3.0, 2 / 3.0});
+        UNIT_SHAPES[Shape.DIAMOND.ordinal()] = polygon(1.2, -0.12, -0.12, new double[] {1 / 2.0, 0, 1 / 5.0, 4 / 5.0, 1}, new double[] {17 / 20.0, 7 / 20.0, 3 / 20.0, 3 / 20.0, 7 / 20.0});
+
+        Path2D.Double wedge = new Path2D.Double();
+        wedge.moveTo(1 / 2.0, 1 / 10.0);
+        wedge.lineTo(1, 7 / 10.0);
+        wedge.curveTo(1, 7 / 10.0, 1 / 2.0, 7 / 5.0, 0, 7 / 10.0);
+        wedge.closePath();
+        UNIT_SHAPES[Shape.WEDGE.ordinal()] = wedge;
+
+        Path2D.Double oval = new Path2D.Double();
+        oval.moveTo(0, 1);
+        oval.curveTo(0, 1, -1 / 10.0, -1 / 10.0, 1, 0);
+        oval.curveTo(1, 0, 11 / 10.0, 11 / 10.0, 0, 1);
+        oval.closePath();
+        UNIT_SHAPES[Shape.OVAL.ordinal()] = oval;
+    }
+
+    /**
+     * Build a closed polygon.
+     * @param scale How much larger than size 1 the polygon is drawn.
+     * @param offsetX How far the polygon is moved right, after scaling.
+     * @param offsetY How far the polygon is moved down, after scaling.
+     * @param xs The corners' x-coordinates, before scaling.
+     * @param ys The corners' y-coordinates, before scaling.
+     * @return The polygon.
+     */
+    private static Path2D polygon(double scale, double offsetX, double offsetY, double[] xs, double[] ys) {
+        Path2D.Double polygon = new Path2D.Double();
+        polygon.moveTo(offsetX + xs[0] * scale, offsetY + ys[0] * scale);
+        for (int i = 1; i < xs.length; i++) polygon.lineTo(offsetX + xs[i] * scale, offsetY + ys[i] * scale);
+        polygon.closePath();
+        return polygon;
+    }
+
+    /**
+     * Get a shape's outline at size 1.
+     * @param type The shape.
+     * @return The outline, which must not be changed.
+     */
+    public static java.awt.Shape getUnitShape(Shape type) {
+        return UNIT_SHAPES[type.ordinal()];
+    }
+
+    /**
+     * Place a shape's outline.
+     * @param type The shape.
+     * @param x The x-coordinate of the shape's top left.
+     * @param y The y-coordinate of the shape's top left.
+     * @param size The shape's size, in pixels.
+     * @return The outline in place; the same path is reused by the next call, so draw it straight away.
+     */
+    public static java.awt.Shape place(Shape type, double x, double y, double size) {
+        transform.setTransform(size, 0, 0, size, x, y);
+        placed.reset();
+        placed.append(UNIT_SHAPES[type.ordinal()].getPathIterator(transform), false);
+        return placed;
+    }
+
+}
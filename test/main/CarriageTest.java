@@ -0,0 +1,69 @@
+/*
+ * TITLE: CarriageTest
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Checks that carriages can be earned and attached in a normal game.
+ */
+
+package main;
+
+import enums.Map;
+import objects.Locomotive;
+import objects.MetroLine;
+import objects.Train;
+
+/**
+ * Plays a headless game through its first week, then attaches the week's carriage the way the carriage button does.
+ * Run with: java --enable-preview -cp out:src main.CarriageTest (after compiling src and test into out); it throws an AssertionError on failure.
+ */
+public class CarriageTest {
+
+    /**
+     * Run the checks.
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        carriageEarnedAtEndOfWeek();
+
+        System.out.println("CarriageTest: ok");
+    }
+
+    /**
+     * A carriage is added to the inventory at the end of the first week, and attaching it adds a locomotive's worth of capacity.
+     */
+    static void carriageEarnedAtEndOfWeek() {
+        GameWorld world = new GameWorld(Map.LONDON, 1);
+        check(world.getResources()[1] == 0, "no carriages at the start");
+
+        // play up to and including the first end of week
+        while (!world.isGameOver() && world.getTicks() <= GameWorld.WEEK) {
+            HeadlessRunner.autoConnect(world);
+            world.skipToNextEvent(GameWorld.WEEK);
+            world.tick();
+        }
+        check(!world.isGameOver(), "the game lasts the first week");
+        check(world.getResources()[1] == 1, "one carriage after the first week");
+
+        // the carriage button attaches it to one of the line's trains
+        MetroLine line = world.getLines()[0];
+        check(line.addCarriage(), "the carriage can be attached");
+        check(world.getResources()[1] == 0, "the carriage is taken from the inventory");
+
+        Locomotive locomotive = (Locomotive) line.getTrains().getFirst();
+        check(locomotive.getCarriages().size() == 1, "the train has the carriage");
+        check(locomotive.getCapacity() == Train.CAPACITY * 2, "the carriage carries as many passengers as the locomotive");
+        check(!line.addCarriage(), "there is no second carriage");
+    }
+
+    /**
+     * Fail if something is not true.
+     * @param condition What should be true.
+     * @param message What it means.
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * TITLE: HeadwayTest
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Checks that a newly placed train keeps its distance from the one in front.
+ */
+
+package objects;
+
+import enums.Map;
+import main.GameWorld;
+
+/**
+ * Places a second train on a line just after the first has left, and checks that it is held at the first station.
+ * Run with: java --enable-preview -cp out:src objects.HeadwayTest (after compiling src and test into out); it throws an AssertionError on failure.
+ */
+public class HeadwayTest {
+
+    /**
+     * Run the checks.
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        placedTrainIsHeld();
+
+        System.out.println("HeadwayTest: ok");
+    }
+
+    /**
+     * A train placed right behind another waits at the first station until the headway has passed, then sets off.
+     */
+    static void placedTrainIsHeld() {
+        GameWorld world = new GameWorld(Map.LONDON, 1);
+        StationStore store = world.getStationStore();
+        MetroLine line = world.getLines()[0];
+
+        line.addStation(store.getStation(0), false);
+        line.addStation(store.getStation(1), false);
+        Train first = line.getTrains().getFirst();
+        check(first.getMovesToArrival() >= 0, "the first train sets off straight away");
+
+        // a few ticks later, a spare train follows it
+        for (int i = 0; i < 5; i++) world.tick();
+        world.getResources()[0]++;
+        check(line.addLocomotive(), "the spare train is placed");
+        Train second = line.getTrains().getLast();
+        check(second.getMovesToArrival() < 0, "the second train is held at the first station");
+
+        // it leaves once the headway has passed
+        int held = 0;
+        while (second.getMovesToArrival() < 0 && held < 100000) {
+            world.tick();
+            held++;
+        }
+        check(second.getMovesToArrival() >= 0, "the second train sets off");
+        check(held > 5, "the second train waits for the headway");
+    }
+
+    /**
+     * Fail if something is not true.
+     * @param condition What should be true.
+     * @param message What it means.
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * TITLE: TrainStockTest
+ * AUTHOR: Benjamin Gosselin
+ * DATE: Sunday, October 18th, 2026
+ * DESCRIPTION: Checks that lines never use more trains than the inventory has.
+ */
+
+package objects;
+
+import enums.Map;
+import main.GameWorld;
+
+/**
+ * Sends every train it can to one line, then draws the other lines, checking the inventory along the way.
+ * Run with: java --enable-preview -cp out:src objects.TrainStockTest (after compiling src and test into out); it throws an AssertionError on failure.
+ */
+public class TrainStockTest {
+
+    /**
+     * Run the checks.
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        newLinesKeepTheirTrain();
+
+        System.out.println("TrainStockTest: ok");
+    }
+
+    /**
+     * Extra trains cannot take the ones kept for lines that have not been drawn yet, so every new line gets a train and the stock never goes below 0.
+     */
+    static void newLinesKeepTheirTrain() {
+        GameWorld world = new GameWorld(Map.LONDON, 1);
+        StationStore store = world.getStationStore();
+        MetroLine[] lines = world.getLines();
+        check(world.getResources()[0] == 3, "one train for each of the three starting lines");
+
+        // line 0 takes its own train
+        lines[0].addStation(store.getStation(0), false);
+        lines[0].addStation(store.getStation(1), false);
+        check(lines[0].getTrains().size() == 1, "a drawn line gets a train");
+        check(world.getResources()[0] == 2, "the train is taken from the inventory");
+
+        // the other two are kept for lines 1 and 2
+        for (int i = 0; i < 3; i++) check(!lines[0].addLocomotive(), "no spare train for an extra locomotive");
+        check(lines[0].getTrains().size() == 1, "line 0 still has one train");
+
+        // both other lines still get theirs
+        lines[1].addStation(store.getStation(1), false);
+        lines[1].addStation(store.getStation(2), false);
+        lines[2].addStation(store.getStation(2), false);
+        lines[2].addStation(store.getStation(0), false);
+        check(lines[1].getTrains().size() == 1 && lines[2].getTrains().size() == 1, "every drawn line gets a train");
+        check(world.getResources()[0] == 0, "three trains from three in stock");
+
+        // taking a line down returns its train, which is kept for it again
+        lines[1].removeStation(store.getStation(2));
+        check(world.getResources()[0] == 1, "the train comes back");
+        check(!lines[0].addLocomotive(), "the returned train is kept for line 1");
+        lines[1].addStation(store.getStation(2), false);
+        check(lines[1].getTrains().size() == 1 && world.getResources()[0] == 0, "line 1 gets its train back");
+    }
+
+    /**
+     * Fail if something is not true.
+     * @param condition What should be true.
+     * @param message What it means.
+     */
+    static void check(boolean condition, String message) {
+        if (!condition) throw new AssertionError(message);
+    }
+
+}